@@ -53,6 +53,8 @@ import com.salesforce.omakase.plugin.GrammarPlugin;
 import com.salesforce.omakase.plugin.ParserPlugin;
 import com.salesforce.omakase.plugin.Plugin;
 import com.salesforce.omakase.plugin.PostProcessingPlugin;
+import com.salesforce.omakase.writer.MultiWriter;
+import com.salesforce.omakase.writer.StyleWriter;
 
 /**
  * Contextual state for a parsing operation.
@@ -184,7 +186,8 @@ final class Context implements PluginRegistry {
 
         Grammar grammar = new Grammar(
             tokenFactory != null ? tokenFactory : StandardTokenFactory.instance(),
-            parserFactory != null ? parserFactory : StandardParserFactory.instance());
+            parserFactory != null ? parserFactory : StandardParserFactory.instance(),
+            passthrough());
 
         emittingBroadcaster.root(broadcaster);
         emittingBroadcaster.grammar(grammar);
@@ -212,6 +215,19 @@ final class Context implements PluginRegistry {
         }
     }
 
+    /** whether any registered writer copies the source of unchanged statements, which needs their source ranges recorded */
+    private boolean passthrough() {
+        for (StyleWriter writer : filter(StyleWriter.class)) {
+            if (writer.shouldPassthrough()) return true;
+        }
+        for (MultiWriter multi : filter(MultiWriter.class)) {
+            for (StyleWriter writer : multi.writers()) {
+                if (writer.shouldPassthrough()) return true;
+            }
+        }
+        return false;
+    }
+
     /** helper method to get only plugins of a certain type */
     private <T extends Plugin> Iterable<T> filter(Class<T> klass) {
         return registry.values().stream().filter(klass::isInstance).map(klass::cast).collect(Collectors.toList());
@@ -30,13 +30,13 @@ import com.google.common.collect.ImmutableList;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.emitter.SubscriptionPhase;
 import com.salesforce.omakase.util.As;
+import com.salesforce.omakase.writer.Fragment;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -47,16 +47,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public abstract class AbstractSyntax implements Syntax {
     private static final AtomicInteger sequence = new AtomicInteger();
-    private final int id = sequence.incrementAndGet();
+    private static final ThreadLocal<IdBlock> ids = ThreadLocal.withInitial(IdBlock::new);
+    private final int id = ids.get().next();
 
     private final int line;
     private final int column;
 
-    private List<Comment> comments;
-    private List<Comment> orphanedComments;
-
     private Status status = Status.PARSED;
 
+    // most units have no comments or fragment, so they are kept in separate, lazily created storage
+    private Metadata metadata;
+
     /**
      * Creates a new instance with no line or number specified (used for dynamically created {@link Syntax} units).
      */
@@ -135,20 +136,18 @@ public abstract class AbstractSyntax implements Syntax {
     @Override
     public Syntax comment(Comment comment) {
         checkNotNull(comment, "comment cannot be null");
-        getOrCreateComments(4).add(comment);
+        Metadata metadata = metadata();
+        metadata.comments(concat(metadata.comments, ImmutableList.of(comment)));
+        markChanged();
         return this;
     }
 
     @Override
     public Syntax comments(Collection<String> comments) {
         if (comments == null || comments.isEmpty()) return this;
-
-        getOrCreateComments(comments.size());
-
-        for (String comment : comments) {
-            this.comments.add(new Comment(comment));
-        }
-
+        Metadata metadata = metadata();
+        metadata.comments(concat(metadata.comments, toComments(comments)));
+        markChanged();
         return this;
     }
 
@@ -157,25 +156,25 @@ public abstract class AbstractSyntax implements Syntax {
         ImmutableList<Comment> toCopy = copyFrom.comments();
         if (toCopy.isEmpty()) return this;
 
-        getOrCreateComments(toCopy.size()).addAll(toCopy);
+        // comment lists are immutable, so they can be shared with the copied unit
+        Metadata metadata = metadata();
+        metadata.comments(concat(metadata.comments, toCopy));
+        markChanged();
         return this;
     }
 
     @Override
     public ImmutableList<Comment> comments() {
-        return comments == null ? ImmutableList.of() : ImmutableList.copyOf(comments);
+        Metadata metadata = existingMetadata();
+        return metadata == null ? ImmutableList.of() : metadata.comments;
     }
 
     @Override
     public Syntax orphanedComments(Collection<String> comments) {
         if (comments == null || comments.isEmpty()) return this;
-
-        getOrCreateOrphanedComments(comments.size());
-
-        for (String comment : comments) {
-            this.orphanedComments.add(new Comment(comment));
-        }
-
+        Metadata metadata = metadata();
+        metadata.orphanedComments = concat(metadata.orphanedComments, toComments(comments));
+        markChanged();
         return this;
     }
 
@@ -184,52 +183,60 @@ public abstract class AbstractSyntax implements Syntax {
         ImmutableList<Comment> toCopy = copyFrom.orphanedComments();
         if (toCopy.isEmpty()) return this;
 
-        getOrCreateOrphanedComments(toCopy.size()).addAll(toCopy);
+        Metadata metadata = metadata();
+        metadata.orphanedComments = concat(metadata.orphanedComments, toCopy);
+        markChanged();
         return this;
     }
 
     @Override
     public ImmutableList<Comment> orphanedComments() {
-        return orphanedComments == null ? ImmutableList.of() : ImmutableList.copyOf(orphanedComments);
+        Metadata metadata = existingMetadata();
+        return metadata == null ? ImmutableList.of() : metadata.orphanedComments;
     }
 
     @Override
     public boolean hasAnnotation(String name) {
-        if (comments == null) return false;
-        return comments.stream().anyMatch(c -> c.hasAnnotation(name));
+        Metadata metadata = existingMetadata();
+        if (metadata == null) return false;
+        for (CssAnnotation annotation : metadata.annotations) {
+            if (annotation.name().equals(name)) return true;
+        }
+        return false;
     }
 
     @Override
     public boolean hasAnnotation(CssAnnotation annotation) {
-        if (comments == null) return false;
-        return comments.stream().anyMatch(c -> c.hasAnnotation(annotation));
+        Metadata metadata = existingMetadata();
+        return metadata != null && metadata.annotations.contains(annotation);
     }
 
     @Override
     public Optional<CssAnnotation> annotation(String name) {
-        if (comments == null) return Optional.empty();
+        Metadata metadata = existingMetadata();
+        if (metadata == null) return Optional.empty();
 
-        for (Comment comment : comments) {
-            Optional<CssAnnotation> annotation = comment.annotation(name);
-            if (annotation.isPresent()) return annotation;
+        for (CssAnnotation annotation : metadata.annotations) {
+            if (annotation.name().equals(name)) return Optional.of(annotation);
         }
         return Optional.empty();
     }
 
     @Override
     public List<CssAnnotation> annotations() {
-        if (comments == null) return new ArrayList<>();
+        Metadata metadata = existingMetadata();
+        return metadata == null ? new ArrayList<>() : new ArrayList<>(metadata.annotations);
+    }
 
-        return comments.stream()
-            .map(Comment::annotation)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.toList());
+    @Override
+    public boolean hasAnnotations() {
+        Metadata metadata = existingMetadata();
+        return metadata != null && !metadata.annotations.isEmpty();
     }
 
     @Override
     public void annotate(CssAnnotation annotation) {
-        getOrCreateComments(4).add(annotation.toComment(true));
+        comment(annotation.toComment(true));
     }
 
     @Override
@@ -274,6 +281,40 @@ public abstract class AbstractSyntax implements Syntax {
         return false;
     }
 
+    @Override
+    public void markChanged() {
+        Fragment fragment = fragment();
+        if (fragment != null) fragment.invalidate();
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Gets the {@link Fragment} of the top-level statement that this unit was last written as part of, if any. This is for use
+     * by the {@link com.salesforce.omakase.writer.StyleWriter}.
+     *
+     * @return The {@link Fragment}, or null if not present.
+     */
+    public Fragment fragment() {
+        return metadata != null ? metadata.fragment : null;
+    }
+
+    /**
+     * Sets the {@link Fragment} of the top-level statement that this unit is being written as part of. This is for use by the
+     * {@link com.salesforce.omakase.writer.StyleWriter}.
+     *
+     * @param fragment
+     *     The {@link Fragment}.
+     */
+    public void fragment(Fragment fragment) {
+        if (fragment != null || metadata != null) {
+            metadata().fragment = fragment;
+        }
+    }
+
     @Override
     public final int hashCode() {
         // final because the basic broadcasting behavior assumes identity-based equality. In addition,
@@ -309,26 +350,98 @@ public abstract class AbstractSyntax implements Syntax {
     }
 
     /**
-     * utility to ensure the comments list is created before using it
+     * utility to ensure the metadata is created before using it
+     *
+     * @return The metadata.
+     */
+    private Metadata metadata() {
+        if (metadata == null) {
+            metadata = new Metadata();
+        }
+        return metadata;
+    }
+
+    /**
+     * utility to get the metadata only if it was already created
+     *
+     * @return The metadata, or null if not created.
+     */
+    private Metadata existingMetadata() {
+        return metadata;
+    }
+
+    /**
+     * utility to combine two comment lists, reusing either list when the other one is empty
      *
-     * @param initialSize
-     *     The initial array size.
-     * @return The comment list.
+     * @param existing
+     *     The existing comments.
+     * @param added
+     *     The comments to add after the existing ones.
+     * @return The combined list.
      */
-    private List<Comment> getOrCreateComments(int initialSize) {
-        if (comments == null) comments = new ArrayList<>(initialSize);
-        return comments;
+    private static ImmutableList<Comment> concat(ImmutableList<Comment> existing, ImmutableList<Comment> added) {
+        if (existing.isEmpty()) return added;
+        if (added.isEmpty()) return existing;
+        return ImmutableList.<Comment>builder().addAll(existing).addAll(added).build();
     }
 
     /**
-     * utility to ensure the orphaned comments list is created before using it
+     * utility to convert comment strings into {@link Comment}s
      *
-     * @param initialSize
-     *     The initial array size.
-     * @return The comment list.
+     * @param comments
+     *     The comment contents.
+     * @return The comments.
      */
-    private List<Comment> getOrCreateOrphanedComments(int initialSize) {
-        if (orphanedComments == null) orphanedComments = new ArrayList<>(initialSize);
-        return orphanedComments;
+    private static ImmutableList<Comment> toComments(Collection<String> comments) {
+        ImmutableList.Builder<Comment> builder = ImmutableList.builderWithExpectedSize(comments.size());
+        for (String comment : comments) {
+            builder.add(new Comment(comment));
+        }
+        return builder.build();
+    }
+
+    /** Storage for information that most units don't have. Comment lists are immutable and safe to share between units. */
+    private static final class Metadata {
+        private ImmutableList<Comment> comments = ImmutableList.of();
+        private ImmutableList<Comment> orphanedComments = ImmutableList.of();
+
+        // annotations from the comments, parsed once whenever the comments change instead of on every lookup
+        private ImmutableList<CssAnnotation> annotations = ImmutableList.of();
+
+        private Fragment fragment;
+
+        private void comments(ImmutableList<Comment> comments) {
+            this.comments = comments;
+
+            ImmutableList.Builder<CssAnnotation> builder = null;
+            for (Comment comment : comments) {
+                Optional<CssAnnotation> annotation = comment.annotation();
+                if (annotation.isPresent()) {
+                    if (builder == null) builder = ImmutableList.builder();
+                    builder.add(annotation.get());
+                }
+            }
+            this.annotations = builder == null ? ImmutableList.of() : builder.build();
+        }
+    }
+
+    /**
+     * Hands out ids from a block reserved from the shared sequence. Each thread reserves a new block only once every {@link
+     * #SIZE} units, so threads parsing in parallel rarely contend on the sequence. Ids remain globally unique, but are only
+     * ordered by creation time within a single thread.
+     */
+    private static final class IdBlock {
+        private static final int SIZE = 1024;
+
+        private int next;
+        private int limit;
+
+        int next() {
+            if (next == limit) {
+                next = sequence.getAndAdd(SIZE) + 1;
+                limit = next + SIZE;
+            }
+            return next++;
+        }
     }
 }
@@ -81,6 +81,7 @@ public final class RawFunction extends AbstractSyntax implements Named, Refinabl
      */
     public RawFunction name(String name) {
         this.name = checkNotNull(name, "name cannot be null");
+        markChanged();
         return this;
     }
 
@@ -104,6 +105,7 @@ public final class RawFunction extends AbstractSyntax implements Named, Refinabl
      */
     public RawFunction args(String args) {
         this.args = checkNotNull(args, "args cannot be null");
+        markChanged();
         return this;
     }
 
@@ -27,7 +27,7 @@
 package com.salesforce.omakase.ast;
 
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
+import com.salesforce.omakase.ast.collection.ArraySyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.Selector;
@@ -92,8 +92,8 @@ public final class Rule extends AbstractGroupable<StatementIterable, Statement>
      */
     public Rule(int line, int column) {
         super(line, column);
-        selectors = new LinkedSyntaxCollection<>(this);
-        declarations = new LinkedSyntaxCollection<>(this);
+        selectors = new ArraySyntaxCollection<>(this);
+        declarations = new ArraySyntaxCollection<>(this);
     }
 
     /**
@@ -151,6 +151,11 @@ public final class Rule extends AbstractGroupable<StatementIterable, Statement>
         return annotations;
     }
 
+    @Override
+    public boolean hasAnnotations() {
+        return super.hasAnnotations() || (selectors.first().isPresent() && selectors.first().get().hasAnnotations());
+    }
+
     @Override
     public void propagateBroadcast(Broadcaster broadcaster, Status status) {
         if (this.status() == status) {
@@ -27,6 +27,7 @@
 package com.salesforce.omakase.ast;
 
 import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.ast.collection.SyntaxCollection;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.Selector;
 import com.salesforce.omakase.ast.selector.SimpleSelector;
@@ -293,6 +294,18 @@ public interface Syntax extends Writable, Broadcastable {
      */
     List<CssAnnotation> annotations();
 
+    /**
+     * Gets whether this unit has at least one {@link CssAnnotation}. This is cheaper than checking if {@link #annotations()} is
+     * empty.
+     * <p>
+     * As with {@link #annotations()}, a {@link Rule} will also check the comments on its first {@link Selector}.
+     *
+     * @return True if this unit has any {@link CssAnnotation}s.
+     */
+    default boolean hasAnnotations() {
+        return !annotations().isEmpty();
+    }
+
     /**
      * Appends the given {@link CssAnnotation} to this unit.
      * <p>
@@ -345,4 +358,28 @@ public interface Syntax extends Writable, Broadcastable {
      * @return True if this object writes its own comments.
      */
     boolean writesOwnOrphanedComments();
+
+    /**
+     * Notifies that this unit was changed in a way that may affect its written output, discarding any output that a {@link
+     * StyleWriter} has cached for it.
+     * <p>
+     * Setters and {@link SyntaxCollection} operations already call this, so this only needs to be called when changing state in
+     * some other way, for example through a mutable list returned from a getter, or from the setters of a custom unit.
+     * <p>
+     * By default this does nothing, as a {@link StyleWriter} only caches output for units extending {@link AbstractSyntax}.
+     */
+    default void markChanged() {}
+
+    /**
+     * Gets whether the written output of this unit depends only on the syntax tree itself. Units whose output also depends on
+     * outside state that may change between writes, such as configuration, must return false so that a {@link StyleWriter}
+     * doesn't reuse output previously written for them.
+     * <p>
+     * By default this returns false. {@link AbstractSyntax} returns true.
+     *
+     * @return True if the written output of this unit can be cached.
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
@@ -134,6 +134,7 @@ public final class AtRule extends AbstractGroupable<StatementIterable, Statement
      */
     public AtRule name(String name) {
         this.name = checkNotNull(name, "name cannot be null");
+        markChanged();
         return this;
     }
 
@@ -155,6 +156,7 @@ public final class AtRule extends AbstractGroupable<StatementIterable, Statement
      */
     public AtRule shouldWriteName(boolean shouldWriteName) {
         this.shouldWriteName = shouldWriteName;
+        markChanged();
         return this;
     }
 
@@ -201,6 +203,7 @@ public final class AtRule extends AbstractGroupable<StatementIterable, Statement
             expression.parent(this);
         }
         this.expression = expression;
+        markChanged();
         return this;
     }
 
@@ -230,6 +233,7 @@ public final class AtRule extends AbstractGroupable<StatementIterable, Statement
             block.parent(this);
         }
         this.block = block;
+        markChanged();
         return this;
     }
 
@@ -167,6 +167,7 @@ public final class FontDescriptor extends AbstractGroupable<FontFaceBlock, FontD
         if (propagatingBroadcaster != null) {
             this.propertyValue.propagateBroadcast(propagatingBroadcaster, Status.PARSED);
         }
+        markChanged();
         return this;
     }
 
@@ -77,6 +77,7 @@ public class GenericAtRuleExpression extends AbstractAtRuleMember implements AtR
      */
     public GenericAtRuleExpression expression(String expression) {
         this.expression = expression;
+        markChanged();
         return this;
     }
 
@@ -95,6 +95,7 @@ public final class MediaQuery extends AbstractGroupable<MediaQueryList, MediaQue
     public MediaQuery restriction(MediaRestriction restriction) {
         this.restriction = restriction;
         checkState(this.restriction == null || type != null, "cannot have a restriction without a media type");
+        markChanged();
         return this;
     }
 
@@ -117,6 +118,7 @@ public final class MediaQuery extends AbstractGroupable<MediaQueryList, MediaQue
      */
     public MediaQuery type(String type) {
         this.type = type != null ? type.toLowerCase() : null;
+        markChanged();
         return this;
     }
 
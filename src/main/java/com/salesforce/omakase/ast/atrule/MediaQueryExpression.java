@@ -91,6 +91,7 @@ public final class MediaQueryExpression extends AbstractGroupable<MediaQuery, Me
      */
     public MediaQueryExpression terms(Iterable<PropertyValueMember> terms) {
         this.terms = Lists.newArrayList(checkNotNull(terms, "terms cannot be null"));
+        markChanged();
         return this;
     }
 
@@ -113,6 +114,7 @@ public final class MediaQueryExpression extends AbstractGroupable<MediaQuery, Me
      */
     public MediaQueryExpression feature(String feature) {
         this.feature = checkNotNull(feature, "feature cannot be null");
+        markChanged();
         return this;
     }
 
@@ -47,6 +47,7 @@ import static com.google.common.base.Preconditions.*;
 public abstract class AbstractGroupable<P, T extends Groupable<P, T>> extends AbstractSyntax implements Groupable<P, T> {
     private SyntaxCollection<P, T> group;
     private boolean destroyed;
+    private int position = -1;
 
     /** Creates a new instance with no line or number specified (used for dynamically created {@link Syntax} units). */
     public AbstractGroupable() {}
@@ -139,7 +140,10 @@ public abstract class AbstractGroupable<P, T extends Groupable<P, T>> extends Ab
 
     @Override
     public Groupable<P, T> group(SyntaxCollection<P, T> group) {
+        // the contents of both the old and the new parent have changed
+        if (this.group != null) markChanged(this.group.parent());
         this.group = group;
+        if (group != null) markChanged(group.parent());
         return this;
     }
 
@@ -148,6 +152,30 @@ public abstract class AbstractGroupable<P, T extends Groupable<P, T>> extends Ab
         return group;
     }
 
+    /**
+     * Gets the last position assigned to this unit by an {@link ArraySyntaxCollection}. This is only meaningful to the collection
+     * that assigned it.
+     *
+     * @return The position, or -1 if never assigned.
+     */
+    int position() {
+        return position;
+    }
+
+    /**
+     * Sets the position of this unit within an {@link ArraySyntaxCollection}.
+     *
+     * @param position
+     *     The position.
+     */
+    void position(int position) {
+        this.position = position;
+    }
+
+    private static void markChanged(Object parent) {
+        if (parent instanceof Syntax) ((Syntax)parent).markChanged();
+    }
+
     @Override
     public P parent() {
         return group == null ? null : group().parent();
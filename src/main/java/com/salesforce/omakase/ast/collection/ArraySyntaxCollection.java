@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import com.google.common.collect.Lists;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Status;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.ast.selector.SelectorPart;
+import com.salesforce.omakase.broadcast.Broadcaster;
+import com.salesforce.omakase.util.As;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Array-backed implementation of the {@link SyntaxCollection}.
+ * <p>
+ * Compared to {@link LinkedSyntaxCollection}, this stores the units directly in an array and records each unit's position on the
+ * unit itself, so no additional objects are created per unit. {@link #contains(Groupable)}, {@link #next(Groupable)} and {@link
+ * #previous(Groupable)} are constant time, as are appends. Insertions and removals in the middle of the collection shift the
+ * following units, which is cheap for the relatively small collections found in most stylesheets (e.g., the declarations of a
+ * {@link Rule}). Large collections that may have many units removed, such as the statements of a stylesheet, should use {@link
+ * LinkedSyntaxCollection} instead.
+ * <p>
+ * Uniqueness is maintained like a set and prevents duplicates. Appending or prepending an existing unit will simply move its
+ * position. Units added to this collection must extend from {@link AbstractGroupable}.
+ * <p>
+ * Iteration tolerates modification of the collection, in the same manner as {@link LinkedSyntaxCollection}. For example, the
+ * current unit may be destroyed or new units may be prepended before it without affecting the remaining iteration.
+ *
+ * @param <P>
+ *     Type of the (P)arent object containing this collection (e.g., {@link SelectorPart}s have {@link Selector}s as the parent).
+ * @param <T>
+ *     The (T)ype of units to be grouped with.
+ *
+ * @author nmcwilliams
+ */
+public final class ArraySyntaxCollection<P, T extends Groupable<P, T>> implements SyntaxCollection<P, T> {
+    private static final Object[] EMPTY = {};
+
+    private final P parent;
+
+    private Object[] units = EMPTY;
+    private int size;
+    private int modifications;
+    private transient Broadcaster propagatingBroadcaster;
+
+    /**
+     * Creates a new {@link ArraySyntaxCollection} with no available {@link Broadcaster}.
+     *
+     * @param parent
+     *     The parent that owns this collection. Do not pass null.
+     */
+    public ArraySyntaxCollection(P parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int modifications() {
+        return modifications;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private T current;
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return nextPosition() < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                cursor = nextPosition();
+                current = unit(cursor);
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(); // can be implemented when needed
+            }
+
+            private int nextPosition() {
+                if (current == null) return 0;
+
+                // the current unit may have been moved or removed since it was returned
+                int position = position(current);
+                return position != -1 ? position + 1 : cursor;
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmptyOrNoneWritable() {
+        for (int i = 0; i < size; i++) {
+            if (unit(i).isWritable()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T unit) {
+        return position(unit) != -1;
+    }
+
+    @Override
+    public Optional<T> first() {
+        return size == 0 ? Optional.empty() : Optional.of(unit(0));
+    }
+
+    @Override
+    public Optional<T> last() {
+        return size == 0 ? Optional.empty() : Optional.of(unit(size - 1));
+    }
+
+    @Override
+    public Optional<T> next(T unit) {
+        int position = checkedPosition(unit);
+        return position == size - 1 ? Optional.empty() : Optional.of(unit(position + 1));
+    }
+
+    @Override
+    public Optional<T> previous(T unit) {
+        int position = checkedPosition(unit);
+        return position == 0 ? Optional.empty() : Optional.of(unit(position - 1));
+    }
+
+    @Override
+    public <S extends T> Optional<S> find(Class<S> klass) {
+        for (int i = 0; i < size; i++) {
+            T unit = unit(i);
+            if (klass.isInstance(unit)) return Optional.of(klass.cast(unit));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prepend(T unit) {
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot prepend a destroyed unit!");
+        checkSupported(unit);
+
+        unit.unlink();
+        return insert(0, unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prependAll(Iterable<T> units) {
+        for (T unit : Lists.reverse(Lists.newArrayList(units))) prepend(unit);
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prependBefore(T index, T unit) throws IllegalArgumentException {
+        checkNotNull(index, "exiting cannot be null");
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot prepend a destroyed unit!");
+        checkSupported(unit);
+        checkedPosition(index);
+
+        if (index == unit) return this;
+
+        // the index unit may shift when the unit is disassociated from its old group, so find its position afterwards
+        unit.unlink();
+        return insert(position(index), unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> prependAllBefore(T index, Iterable<T> units) throws IllegalArgumentException {
+        checkNotNull(index, "index cannot be null");
+        checkNotNull(units, "units cannot be null");
+        checkedPosition(index);
+
+        // the index unit may shift when the units are disassociated from their old groups, so find its position afterwards
+        List<T> batch = batch(index, units);
+        for (T unit : batch) unit.unlink();
+        return insertAll(position(index), batch);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> append(T unit) {
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot append a destroyed unit!");
+        checkSupported(unit);
+
+        unit.unlink();
+        return insert(size, unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> appendAll(Iterable<T> units) {
+        for (T unit : units) append(unit);
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> appendAfter(T index, T unit) throws IllegalArgumentException {
+        checkNotNull(index, "exiting cannot be null");
+        checkNotNull(unit, "unit cannot be null");
+        checkArgument(!unit.isDestroyed(), "cannot append a destroyed unit!");
+        checkSupported(unit);
+        checkedPosition(index);
+
+        if (index == unit) return this;
+
+        // the index unit may shift when the unit is disassociated from its old group, so find its position afterwards
+        unit.unlink();
+        return insert(position(index) + 1, unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> appendAllAfter(T index, Iterable<T> units) throws IllegalArgumentException {
+        checkNotNull(index, "index cannot be null");
+        checkNotNull(units, "units cannot be null");
+        checkedPosition(index);
+
+        // the index unit may shift when the units are disassociated from their old groups, so find its position afterwards
+        List<T> batch = batch(index, units);
+        for (T unit : batch) unit.unlink();
+        return insertAll(position(index) + 1, batch);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> remove(T unit) {
+        int position = position(unit);
+
+        if (position != -1) {
+            int moved = size - position - 1;
+            if (moved > 0) {
+                System.arraycopy(units, position + 1, units, position, moved);
+            }
+            units[--size] = null;
+            modifications++;
+            reindex(position);
+
+            // ensure the unit is not associated with this group any longer
+            unit.group(null);
+        }
+
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> clear() {
+        int count = size;
+        size = 0;
+        modifications += count;
+        for (int i = 0; i < count; i++) {
+            unit(i).group(null);
+            units[i] = null;
+        }
+        return this;
+    }
+
+    @Override
+    public SyntaxCollection<P, T> replaceExistingWith(T unit) {
+        return clear().append(unit);
+    }
+
+    @Override
+    public SyntaxCollection<P, T> replaceExistingWith(Iterable<T> units) {
+        return clear().appendAll(units);
+    }
+
+    @Override
+    public void destroyAll() {
+        // going backwards avoids shifting the remaining units as each one is removed
+        for (int i = size - 1; i >= 0; i--) {
+            if (i < size) unit(i).destroy();
+        }
+    }
+
+    @Override
+    public P parent() {
+        return parent;
+    }
+
+    @Override
+    public void propagateBroadcast(Broadcaster broadcaster, Status status) {
+        // save a reference so that subsequent appended/prepended units will be broadcasted
+        this.propagatingBroadcaster = broadcaster;
+        for (T unit : this) {
+            unit.propagateBroadcast(broadcaster, status);
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("units", Lists.newArrayList(iterator())).toString();
+    }
+
+    private SyntaxCollection<P, T> insert(int position, T unit) {
+        if (size == units.length) {
+            units = Arrays.copyOf(units, size < 4 ? 4 : size + (size >> 1));
+        }
+        if (position < size) {
+            System.arraycopy(units, position, units, position + 1, size - position);
+        }
+
+        units[position] = unit;
+        size++;
+        modifications++;
+        reindex(position);
+
+        // associate with this group
+        unit.group(this);
+
+        // broadcast if it hasn't been already
+        propagateNewUnit(unit);
+
+        return this;
+    }
+
+    /** shifts the following units once for all of the given units, then associates and broadcasts them */
+    private SyntaxCollection<P, T> insertAll(int position, List<T> batch) {
+        int count = batch.size();
+        if (count == 0) return this;
+
+        if (size + count > units.length) {
+            units = Arrays.copyOf(units, Math.max(size + count, size < 4 ? 4 : size + (size >> 1)));
+        }
+        if (position < size) {
+            System.arraycopy(units, position, units, position + count, size - position);
+        }
+
+        for (int i = 0; i < count; i++) {
+            units[position + i] = batch.get(i);
+        }
+        size += count;
+        modifications += count;
+        reindex(position);
+
+        // associate with this group
+        for (T unit : batch) unit.group(this);
+
+        // broadcast once all of the units are in place
+        for (T unit : batch) propagateNewUnit(unit);
+
+        return this;
+    }
+
+    /** checks the units to add in bulk, without the index unit or duplicates */
+    private static <T extends Groupable<?, ?>> List<T> batch(T index, Iterable<T> units) {
+        Set<T> batch = new LinkedHashSet<>();
+        for (T unit : units) {
+            checkNotNull(unit, "unit cannot be null");
+            checkArgument(!unit.isDestroyed(), "cannot add a destroyed unit!");
+            checkSupported(unit);
+            if (unit != index) batch.add(unit);
+        }
+        return new ArrayList<>(batch);
+    }
+
+    private static void checkSupported(Groupable<?, ?> unit) {
+        checkArgument(unit instanceof AbstractGroupable, "units must extend AbstractGroupable");
+    }
+
+    private void reindex(int from) {
+        for (int i = from; i < size; i++) {
+            ((AbstractGroupable<?, ?>)units[i]).position(i);
+        }
+    }
+
+    private int position(T unit) {
+        if (!(unit instanceof AbstractGroupable)) return -1;
+        int position = ((AbstractGroupable<?, ?>)unit).position();
+        return position >= 0 && position < size && units[position] == unit ? position : -1;
+    }
+
+    private int checkedPosition(T unit) {
+        int position = position(unit);
+        if (position == -1) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+        return position;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unit(int position) {
+        return (T)units[position];
+    }
+
+    private void propagateNewUnit(T unit) {
+        if (propagatingBroadcaster != null) {
+            unit.propagateBroadcast(propagatingBroadcaster, Status.PARSED);
+        }
+    }
+}
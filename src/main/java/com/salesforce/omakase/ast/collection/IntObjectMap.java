@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open-addressing hash map with primitive int keys, used for id-based lookups of {@link
+ * com.salesforce.omakase.ast.Syntax} units.
+ * <p>
+ * Unlike a {@code HashMap<Integer, V>} this doesn't box keys or allocate an entry object per mapping. The tables are only
+ * allocated on the first {@link #put}, as many collections stay empty. Null values are not supported. Not thread-safe.
+ *
+ * @param <V>
+ *     Type of the values.
+ *
+ * @author nmcwilliams
+ */
+final class IntObjectMap<V> {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int[] NO_KEYS = {};
+    private static final Object[] NO_VALUES = {};
+
+    private final int initialCapacity;
+    private int[] keys = NO_KEYS;
+    private Object[] values = NO_VALUES;
+    private int size;
+    private int mask;
+
+    /** Creates a new, empty map. */
+    IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty map with room for the given number of mappings before resizing.
+     *
+     * @param expected
+     *     The expected number of mappings.
+     */
+    IntObjectMap(int expected) {
+        initialCapacity = tableSizeFor(expected);
+    }
+
+    /**
+     * Gets the number of mappings.
+     *
+     * @return The number of mappings.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets whether there are no mappings.
+     *
+     * @return True if there are no mappings.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @param key
+     *     The key.
+     *
+     * @return The value, or null if not present.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int slot = find(key);
+        return slot == -1 ? null : (V)values[slot];
+    }
+
+    /**
+     * Gets whether there is a value mapped to the given key.
+     *
+     * @param key
+     *     The key.
+     *
+     * @return True if the key is present.
+     */
+    boolean containsKey(int key) {
+        return find(key) != -1;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any existing mapping.
+     *
+     * @param key
+     *     The key.
+     * @param value
+     *     The value. Must not be null.
+     *
+     * @return The previous value, or null if there wasn't one.
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (value == null) throw new NullPointerException("value cannot be null");
+        if (values.length == 0) allocate(initialCapacity);
+
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V)values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        // keep the load factor at or under 1/2
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given key.
+     *
+     * @param key
+     *     The key.
+     *
+     * @return The removed value, or null if there wasn't one.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        int slot = find(key);
+        if (slot == -1) return null;
+
+        V removed = (V)values[slot];
+        values[slot] = null;
+        size--;
+
+        // shift back any following entries in the same probe run so that lookups don't stop early (no tombstones needed)
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int ideal = hash(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                values[next] = null;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        return removed;
+    }
+
+    /** Removes all mappings. */
+    void clear() {
+        if (size > 0) Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int find(int key) {
+        if (size == 0) return -1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(int key) {
+        // ids are sequential, so spread them out to avoid long probe runs
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
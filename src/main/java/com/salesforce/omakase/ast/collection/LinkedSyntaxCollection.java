@@ -36,11 +36,11 @@ import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.util.As;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.Optional;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -50,8 +50,9 @@ import static com.google.common.base.Preconditions.*;
 /**
  * Standard (default) implementation of the {@link SyntaxCollection}.
  * <p>
- * This uses a linked-node approach optimized for random lookups, insertions and removals. Uniqueness is maintained like a set and
- * prevents duplicates. Appending or prepending an existing unit will simply move its position.
+ * This uses a linked-node approach optimized for random lookups, insertions and removals. Nodes are indexed by {@link
+ * Syntax#id()} in a primitive int-keyed map. Uniqueness is maintained like a set and prevents duplicates. Appending or prepending
+ * an existing unit will simply move its position.
  *
  * @param <P>
  *     Type of the (P)arent object containing this collection (e.g., {@link SelectorPart}s have {@link Selector}s as the parent).
@@ -62,10 +63,11 @@ import static com.google.common.base.Preconditions.*;
  */
 public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implements SyntaxCollection<P, T> {
     private final P parent;
-    private final Lookup<T> lookup = new Lookup<>();
+    private final IntObjectMap<Node<T>> lookup = new IntObjectMap<>();
 
     private Node<T> first;
     private Node<T> last;
+    private int modifications;
     private transient Broadcaster propagatingBroadcaster;
 
     /**
@@ -83,6 +85,11 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         return lookup.size();
     }
 
+    @Override
+    public int modifications() {
+        return modifications;
+    }
+
     @Override
     public boolean isEmpty() {
         return first == null;
@@ -123,7 +130,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
 
     @Override
     public boolean contains(T unit) {
-        return lookup.contains(unit.id());
+        return lookup.containsKey(unit.id());
     }
 
     @Override
@@ -168,6 +175,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         // create a new node
         first = new Node<>(null, first, unit);
         lookup.put(unit.id(), first);
+        modifications++;
         if (last == null) {
             last = first;
         }
@@ -202,6 +210,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
 
         // create a new node
         lookup.put(unit.id(), new Node<>(node.previous, node, unit));
+        modifications++;
 
         // broadcast if it hasn't been already
         propagateNewUnit(unit);
@@ -209,6 +218,33 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         return this;
     }
 
+    @Override
+    public SyntaxCollection<P, T> prependAllBefore(T index, Iterable<T> units) throws IllegalArgumentException {
+        checkNotNull(index, "index cannot be null");
+        checkNotNull(units, "units cannot be null");
+
+        // find the node for the index unit
+        Node<T> node = lookup.get(index.id());
+        if (node == null) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+
+        List<T> batch = batch(index, units);
+        for (T unit : batch) {
+            // disassociate with old group and associate with this group
+            unit.unlink().group(this);
+
+            // create a new node
+            Node<T> created = new Node<>(node.previous, node, unit);
+            lookup.put(unit.id(), created);
+            modifications++;
+            if (created.previous == null) first = created;
+        }
+
+        // broadcast once all of the units are linked
+        for (T unit : batch) propagateNewUnit(unit);
+
+        return this;
+    }
+
     @Override
     public SyntaxCollection<P, T> append(T unit) {
         checkNotNull(unit, "unit cannot be null");
@@ -220,6 +256,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         // create a new node
         last = new Node<>(last, null, unit);
         lookup.put(unit.id(), last);
+        modifications++;
         if (first == null) first = last;
 
         // broadcast if it hasn't been already
@@ -252,6 +289,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
 
         // create a new node
         lookup.put(unit.id(), new Node<>(node, node.next, unit));
+        modifications++;
 
         // broadcast if it hasn't been already
         propagateNewUnit(unit);
@@ -259,6 +297,33 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         return this;
     }
 
+    @Override
+    public SyntaxCollection<P, T> appendAllAfter(T index, Iterable<T> units) throws IllegalArgumentException {
+        checkNotNull(index, "index cannot be null");
+        checkNotNull(units, "units cannot be null");
+
+        // find the node for the index unit
+        Node<T> node = lookup.get(index.id());
+        if (node == null) throw new IllegalArgumentException("the specified unit does not exist in this collection!");
+
+        List<T> batch = batch(index, units);
+        for (T unit : batch) {
+            // disassociate with old group and associate with this group
+            unit.unlink().group(this);
+
+            // create a new node, after the previously added one
+            node = new Node<>(node, node.next, unit);
+            lookup.put(unit.id(), node);
+            modifications++;
+            if (node.next == null) last = node;
+        }
+
+        // broadcast once all of the units are linked
+        for (T unit : batch) propagateNewUnit(unit);
+
+        return this;
+    }
+
     @Override
     public SyntaxCollection<P, T> remove(T unit) {
         Node<T> removed = lookup.remove(unit.id());
@@ -266,6 +331,7 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         if (removed != null) {
             // update our links
             unlink(removed);
+            modifications++;
 
             // ensure the unit is not associated with this group any longer
             unit.group(null);
@@ -327,6 +393,17 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
         }
     }
 
+    /** checks the units to add in bulk, without the index unit or duplicates */
+    private static <T extends Groupable<?, ?>> List<T> batch(T index, Iterable<T> units) {
+        Set<T> batch = new LinkedHashSet<>();
+        for (T unit : units) {
+            checkNotNull(unit, "unit cannot be null");
+            checkArgument(!unit.isDestroyed(), "cannot add a destroyed unit!");
+            if (unit != index) batch.add(unit);
+        }
+        return new ArrayList<>(batch);
+    }
+
     private void unlink(Node<T> node) {
         if (node == first) first = node.next;
         if (node == last) last = node.previous;
@@ -352,72 +429,4 @@ public final class LinkedSyntaxCollection<P, T extends Groupable<P, T>> implemen
             }
         }
     }
-
-    // todo - move to regular linked list or such
-    private static final class Lookup<E extends Syntax> {
-        private List<Node<E>> sparse = new ArrayList<>();
-        private Map<Integer, Node<E>> dense;
-        private int count = 0;
-
-        public void put(int id, Node<E> node) {
-            // for small collections use an array list, for larger use a map
-            if (count < 64) {
-                sparse.add(node);
-                count++;
-            } else if (count == 64) {
-                dense = new HashMap<>(128);
-                for (Node<E> n : sparse) {
-                    dense.put(n.unit.id(), n);
-                }
-                dense.put(id, node);
-                sparse = null;
-                count++;
-            } else {
-                dense.put(id, node);
-            }
-        }
-
-        public Node<E> get(int id) {
-            if (sparse != null) {
-                for (Node<E> n : sparse) {
-                    if (n.unit.id() == id) return n;
-                }
-                return null;
-            }
-            return dense.get(id);
-        }
-
-        public Node<E> remove(int id) {
-            if (sparse != null) {
-                for (Iterator<Node<E>> it = sparse.iterator(); it.hasNext(); ) {
-                    Node<E> next = it.next();
-                    if (next.unit.id() == id) {
-                        it.remove();
-                        count--;
-                        return next;
-                    }
-                }
-                return null;
-            }
-            return dense.remove(id);
-        }
-
-        public int size() {
-            return sparse != null ? sparse.size() : dense.size();
-        }
-
-        public boolean isEmpty() {
-            return sparse != null ? sparse.isEmpty() : dense.isEmpty();
-        }
-
-        public boolean contains(int id) {
-            if (sparse != null) {
-                for (Node<E> n : sparse) {
-                    if (n.unit.id() == id) return true;
-                }
-                return false;
-            }
-            return dense.containsKey(id);
-        }
-    }
 }
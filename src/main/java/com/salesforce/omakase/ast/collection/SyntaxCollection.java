@@ -55,6 +55,15 @@ public interface SyntaxCollection<P, T extends Groupable<P, T>> extends Iterable
      */
     int size();
 
+    /**
+     * Gets the number of times a unit was added to or removed from this collection. This can be compared with a value from earlier
+     * to check whether the collection was changed in between, which the size alone doesn't show (e.g., when one unit is replaced
+     * with another).
+     *
+     * @return The number of additions and removals.
+     */
+    int modifications();
+
     /**
      * Gets whether this collection contains any units.
      *
@@ -171,6 +180,26 @@ public interface SyntaxCollection<P, T extends Groupable<P, T>> extends Iterable
      */
     SyntaxCollection<P, T> prependBefore(T index, T unit) throws IllegalArgumentException;
 
+    /**
+     * Prepends all of the given units before the given index unit, keeping their order. This is equivalent to calling {@link
+     * #prependBefore(Groupable, Groupable)} for each unit, except that all of the units are linked into this collection before
+     * any of them are broadcasted.
+     * <p>
+     * The index unit must be present within this collection. Units that already exist in this collection will be moved. If the
+     * index unit itself is given it is ignored, and if a unit is given more than once only its first occurrence is used.
+     *
+     * @param index
+     *     Prepend before this unit.
+     * @param units
+     *     Prepend these units.
+     *
+     * @return this, for chaining.
+     *
+     * @throws IllegalArgumentException
+     *     If the index unit is not contained within this collection.
+     */
+    SyntaxCollection<P, T> prependAllBefore(T index, Iterable<T> units) throws IllegalArgumentException;
+
     /**
      * Appends the specified unit to the end of this collection.
      *
@@ -209,6 +238,26 @@ public interface SyntaxCollection<P, T extends Groupable<P, T>> extends Iterable
      */
     SyntaxCollection<P, T> appendAfter(T index, T unit) throws IllegalArgumentException;
 
+    /**
+     * Appends all of the given units after the given index unit, keeping their order. This is equivalent to calling {@link
+     * #prependAllBefore(Groupable, Iterable)} with the unit following the index unit, or {@link #appendAll(Iterable)} if there
+     * is none.
+     * <p>
+     * The index unit must be present within this collection. Units that already exist in this collection will be moved. If the
+     * index unit itself is given it is ignored, and if a unit is given more than once only its first occurrence is used.
+     *
+     * @param index
+     *     Append after this unit.
+     * @param units
+     *     Append these units.
+     *
+     * @return this, for chaining.
+     *
+     * @throws IllegalArgumentException
+     *     If the index unit is not contained within this collection.
+     */
+    SyntaxCollection<P, T> appendAllAfter(T index, Iterable<T> units) throws IllegalArgumentException;
+
     /**
      * Removes a unit from this collection.  It's preferable to call {@link Groupable#destroy()} over this.
      *
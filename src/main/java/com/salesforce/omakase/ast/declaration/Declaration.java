@@ -207,6 +207,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
      */
     public Declaration propertyName(Property property) {
         this.propertyName = PropertyName.of(checkNotNull(property, "property cannot be null"));
+        markChanged();
         return this;
     }
 
@@ -220,6 +221,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
      */
     public Declaration propertyName(PropertyName propertyName) {
         this.propertyName = checkNotNull(propertyName, "propertyName cannot be null");
+        markChanged();
         return this;
     }
 
@@ -233,6 +235,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
      */
     public Declaration propertyName(String propertyName) {
         this.propertyName = PropertyName.of(propertyName);
+        markChanged();
         return this;
     }
 
@@ -389,6 +392,7 @@ public final class Declaration extends AbstractGroupable<Rule, Declaration> impl
         if (propagatingBroadcaster != null) {
             this.propertyValue.propagateBroadcast(propagatingBroadcaster, Status.PARSED);
         }
+        markChanged();
         return this;
     }
 
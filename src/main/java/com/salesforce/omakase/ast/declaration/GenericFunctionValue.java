@@ -94,6 +94,7 @@ public class GenericFunctionValue extends AbstractTerm implements FunctionValue
      */
     public GenericFunctionValue name(String name) {
         this.name = checkNotNull(name, "name cannot be null");
+        markChanged();
         return this;
     }
 
@@ -117,6 +118,7 @@ public class GenericFunctionValue extends AbstractTerm implements FunctionValue
      */
     public GenericFunctionValue args(String args) {
         this.args = checkNotNull(args, "args cannot be null");
+        markChanged();
         return this;
     }
 
@@ -102,6 +102,7 @@ public final class KeywordValue extends AbstractTerm implements Named {
      */
     public KeywordValue keyword(String keyword) {
         this.keyword = checkNotNull(keyword, "keyword cannot be null");
+        markChanged();
         return this;
     }
 
@@ -93,6 +93,7 @@ public final class LinearGradientFunctionValue extends AbstractTerm implements F
      */
     public LinearGradientFunctionValue args(String args) {
         this.args = checkNotNull(args, "args cannot be null");
+        markChanged();
         return this;
     }
 
@@ -115,6 +116,7 @@ public final class LinearGradientFunctionValue extends AbstractTerm implements F
      */
     public LinearGradientFunctionValue repeating(boolean repeating) {
         this.repeating = repeating;
+        markChanged();
         return this;
     }
 
@@ -137,6 +139,7 @@ public final class LinearGradientFunctionValue extends AbstractTerm implements F
      */
     public LinearGradientFunctionValue prefix(Prefix prefix) {
         this.prefix = prefix;
+        markChanged();
         return this;
     }
 
@@ -26,7 +26,6 @@
 
 package com.salesforce.omakase.ast.declaration;
 
-import com.google.common.base.CharMatcher;
 import com.google.common.collect.ImmutableSet;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.broadcast.annotation.Description;
@@ -36,7 +35,6 @@ import com.salesforce.omakase.writer.StyleAppendable;
 import com.salesforce.omakase.writer.StyleWriter;
 
 import java.io.IOException;
-import java.text.DecimalFormat;
 import java.util.Optional;
 import java.util.Set;
 
@@ -61,7 +59,6 @@ import static com.salesforce.omakase.broadcast.BroadcastRequirement.REFINED_DECL
 @Subscribable
 @Description(value = "individual numerical value", broadcasted = REFINED_DECLARATION)
 public final class NumericalValue extends AbstractTerm {
-    private static final CharMatcher ZERO = CharMatcher.is('0');
     private static final Set<String> DISCARDABLE_UNITS = ImmutableSet.of("px", "em", "rem"); // can only contain distance units
 
     private String raw;
@@ -132,6 +129,7 @@ public final class NumericalValue extends AbstractTerm {
         } else {
             explicitSign = null;
         }
+        markChanged();
         return this;
     }
 
@@ -146,16 +144,13 @@ public final class NumericalValue extends AbstractTerm {
      * @return this, for chaining.
      */
     public NumericalValue value(double value) {
-        DecimalFormat fmt = new DecimalFormat("#");
-        fmt.setMaximumIntegerDigits(309);
-        fmt.setMinimumIntegerDigits(1);
-        fmt.setMaximumFractionDigits(340);
-        this.raw = fmt.format(Math.abs(value));
+        this.raw = plain(Math.abs(value));
         if (value < 0) {
             explicitSign = Sign.NEGATIVE;
         } else {
             explicitSign = null;
         }
+        markChanged();
         return this;
     }
 
@@ -207,6 +202,7 @@ public final class NumericalValue extends AbstractTerm {
      */
     public NumericalValue unit(String unit) {
         this.unit = unit;
+        markChanged();
         return this;
     }
 
@@ -229,6 +225,7 @@ public final class NumericalValue extends AbstractTerm {
      */
     public NumericalValue explicitSign(Sign sign) {
         this.explicitSign = sign;
+        markChanged();
         return this;
     }
 
@@ -279,21 +276,34 @@ public final class NumericalValue extends AbstractTerm {
         }
 
         String num = raw;
+        int start = 0;
         boolean potentiallyDiscardUnit = false;
 
         if (!writer.isVerbose()) {
+            int length = num.length();
+
             // - omit leading 0 integer values when there is only a decimal, e.g., "0.5" => ".5"
-            if (num.length() > 2 && num.charAt(0) == '0' && num.charAt(1) == '.') {
-                num = num.substring(1);
+            if (length > 2 && num.charAt(0) == '0' && num.charAt(1) == '.') {
+                start = 1;
             }
+
             // - after a zero length, the unit identifier is optional (for distance units only!) e.g., 0px => 0
-            if (ZERO.matchesAllOf(num.charAt(0) == '.' ? num.substring(1) : num)) {
-                num = "0";
-                potentiallyDiscardUnit = true;
+            potentiallyDiscardUnit = true;
+            for (int i = num.charAt(start) == '.' ? start + 1 : start; i < length; i++) {
+                if (num.charAt(i) != '0') {
+                    potentiallyDiscardUnit = false;
+                    break;
+                }
             }
         }
 
-        appendable.append(num);
+        if (potentiallyDiscardUnit) {
+            appendable.append('0');
+        } else if (start == 0) {
+            appendable.append(num);
+        } else {
+            appendable.append(num, start, num.length());
+        }
 
         if (unit != null && (!potentiallyDiscardUnit || !DISCARDABLE_UNITS.contains(unit))) {
             appendable.append(unit);
@@ -422,4 +432,64 @@ public final class NumericalValue extends AbstractTerm {
     public static NumericalValue of(String raw, String unit) {
         return of(raw).unit(unit);
     }
+
+    /**
+     * Formats the given non-negative, finite value in plain (non-scientific) notation, using the digits of {@link
+     * Double#toString(double)}. These are the same digits the {@link java.text.DecimalFormat} previously used here produced, so
+     * the output is unchanged, but this is locale-independent and doesn't allocate a formatter per call.
+     * <p>
+     * Note that before Java 19 (JDK-4511638) these digits are not always the shortest that uniquely distinguish the value, e.g.,
+     * {@code 1e23} is written as {@code 99999999999999990000000}.
+     */
+    private static String plain(double value) {
+        // integers below 10^15 are represented exactly, so the long digits are the shortest digits
+        if (value < 1e15 && value == (long)value) return Long.toString((long)value);
+
+        String string = Double.toString(value);
+        int exp = string.indexOf('E');
+
+        if (exp == -1) {
+            // e.g., "12.5" (Double#toString always has a fraction here). Drop any trailing zeros, like DecimalFormat does
+            int end = string.length();
+            while (string.charAt(end - 1) == '0') {
+                end--;
+            }
+            if (string.charAt(end - 1) == '.') end--;
+            return end == string.length() ? string : string.substring(0, end);
+        }
+
+        if (string.charAt(1) != '.') return string; // NaN or Infinity
+
+        // e.g., "1.25E-5" or "1.0E20"; the decimal point comes after the first digit
+        int end = exp;
+        while (end > 3 && string.charAt(end - 1) == '0') {
+            end--;
+        }
+        if (end == 3 && string.charAt(2) == '0') {
+            end = 2;
+        }
+
+        int digits = end - 1; // excluding the '.'
+        int point = 1 + Integer.parseInt(string.substring(exp + 1));
+        StringBuilder builder = new StringBuilder(Math.max(digits, Math.abs(point)) + 2);
+
+        if (point <= 0) {
+            builder.append("0.");
+            for (int i = point; i < 0; i++) {
+                builder.append('0');
+            }
+            builder.append(string.charAt(0)).append(string, 2, end);
+        } else {
+            builder.append(string.charAt(0));
+            builder.append(string, 2, Math.min(end, point + 1));
+            for (int i = digits; i < point; i++) {
+                builder.append('0');
+            }
+            if (point < digits) {
+                builder.append('.').append(string, point + 1, end);
+            }
+        }
+
+        return builder.toString();
+    }
 }
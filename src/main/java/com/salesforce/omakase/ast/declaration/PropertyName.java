@@ -127,6 +127,7 @@ public final class PropertyName extends AbstractSyntax implements Named {
      */
     public PropertyName starHack(boolean starHack) {
         this.starHack = starHack;
+        markChanged();
         return this;
     }
 
@@ -189,6 +190,7 @@ public final class PropertyName extends AbstractSyntax implements Named {
      */
     public PropertyName prefix(Prefix prefix) {
         this.prefix = prefix;
+        markChanged();
         return this;
     }
 
@@ -194,6 +194,7 @@ public final class PropertyValue extends AbstractSyntax {
      */
     public PropertyValue important(boolean important) {
         this.important = important;
+        markChanged();
         return this;
     }
 
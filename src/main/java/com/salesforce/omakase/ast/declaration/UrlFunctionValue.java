@@ -93,6 +93,7 @@ public final class UrlFunctionValue extends AbstractTerm implements FunctionValu
      */
     public UrlFunctionValue url(String url) {
         this.url = checkNotNull(url, "url cannot be null");
+        markChanged();
         return this;
     }
 
@@ -115,6 +116,7 @@ public final class UrlFunctionValue extends AbstractTerm implements FunctionValu
      */
     public UrlFunctionValue quotationMode(QuotationMode quotationMode) {
         this.quotationMode = quotationMode;
+        markChanged();
         return this;
     }
 
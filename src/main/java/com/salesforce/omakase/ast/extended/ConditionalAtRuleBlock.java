@@ -147,6 +147,12 @@ public final class ConditionalAtRuleBlock extends AbstractAtRuleMember implement
         return super.isWritable() && (config.isPassthroughMode() || matches());
     }
 
+    @Override
+    public boolean isCacheable() {
+        // whether this is written depends on the current true conditions, which may change between writes
+        return false;
+    }
+
     @Override
     public void write(StyleWriter writer, StyleAppendable appendable) throws IOException {
         if (config.isPassthroughMode()) {
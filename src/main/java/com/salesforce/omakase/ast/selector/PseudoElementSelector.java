@@ -109,6 +109,7 @@ public final class PseudoElementSelector extends AbstractSelectorPart implements
     public PseudoElementSelector name(String name) {
         checkNotNull(name, "name cannot be null");
         this.name = name.toLowerCase();
+        markChanged();
         return this;
     }
 
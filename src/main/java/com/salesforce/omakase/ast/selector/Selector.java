@@ -33,7 +33,7 @@ import com.salesforce.omakase.ast.Rule;
 import com.salesforce.omakase.ast.Status;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
-import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
+import com.salesforce.omakase.ast.collection.ArraySyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.annotation.Description;
@@ -92,7 +92,7 @@ public final class Selector extends AbstractGroupable<Rule, Selector> implements
     public Selector(RawSyntax raw) {
         super(raw.line(), raw.column());
         this.raw = raw;
-        this.parts = new LinkedSyntaxCollection<>(this);
+        this.parts = new ArraySyntaxCollection<>(this);
         status(Status.RAW);
     }
 
@@ -147,7 +147,7 @@ public final class Selector extends AbstractGroupable<Rule, Selector> implements
     public Selector(int line, int column, Iterable<SelectorPart> parts) {
         super(line, column);
         this.raw = null;
-        this.parts = new LinkedSyntaxCollection<Selector, SelectorPart>(this).appendAll(parts);
+        this.parts = new ArraySyntaxCollection<Selector, SelectorPart>(this).appendAll(parts);
     }
 
     /**
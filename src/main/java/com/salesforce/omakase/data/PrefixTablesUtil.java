@@ -26,12 +26,35 @@
 
 package com.salesforce.omakase.data;
 
+import java.util.Set;
+
 /**
  * Utilities for working with the generated data in {@link PrefixTables}.
+ * <p>
+ * Each table is decoded on first use, so the data for tables that are never queried is never loaded.
  *
  * @author nmcwilliams
  */
 public final class PrefixTablesUtil {
+    private static final class Properties {
+        static final VersionTable<Property> TABLE = VersionTable.decode(Property.class, PrefixTables.PROPERTIES);
+    }
+
+    private static final class Keywords {
+        static final VersionTable<Keyword> TABLE = VersionTable.decode(Keyword.class, PrefixTables.KEYWORDS);
+    }
+
+    private static final class AtRules {
+        static final VersionTable<String> TABLE = VersionTable.decode(PrefixTables.AT_RULES);
+    }
+
+    private static final class Selectors {
+        static final VersionTable<String> TABLE = VersionTable.decode(PrefixTables.SELECTORS);
+    }
+
+    private static final class Functions {
+        static final VersionTable<String> TABLE = VersionTable.decode(PrefixTables.FUNCTIONS);
+    }
 
     private PrefixTablesUtil() {}
 
@@ -44,7 +67,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given property.
      */
     public static boolean isPrefixableProperty(Property property) {
-        return PrefixTables.PROPERTIES.containsRow(property);
+        return Properties.TABLE.contains(property);
     }
 
     /**
@@ -56,7 +79,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given keyword.
      */
     public static boolean isPrefixableKeyword(Keyword keyword) {
-        return PrefixTables.KEYWORDS.containsRow(keyword);
+        return Keywords.TABLE.contains(keyword);
     }
 
     /**
@@ -68,7 +91,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given at-rule.
      */
     public static boolean isPrefixableAtRule(String name) {
-        return PrefixTables.AT_RULES.containsRow(name);
+        return AtRules.TABLE.contains(name);
     }
 
     /**
@@ -80,7 +103,7 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given selector name.
      */
     public static boolean isPrefixableSelector(String name) {
-        return PrefixTables.SELECTORS.containsRow(name);
+        return Selectors.TABLE.contains(name);
     }
 
     /**
@@ -92,7 +115,52 @@ public final class PrefixTablesUtil {
      * @return True of prefix info exists for the given function name.
      */
     public static boolean isPrefixableFunction(String function) {
-        return PrefixTables.FUNCTIONS.containsRow(function);
+        return Functions.TABLE.contains(function);
+    }
+
+    /**
+     * Gets all properties that have prefix info.
+     *
+     * @return The (immutable) set of prefixable properties.
+     */
+    public static Set<Property> prefixableProperties() {
+        return Properties.TABLE.keys();
+    }
+
+    /**
+     * Gets all keywords that have prefix info.
+     *
+     * @return The (immutable) set of prefixable keywords.
+     */
+    public static Set<Keyword> prefixableKeywords() {
+        return Keywords.TABLE.keys();
+    }
+
+    /**
+     * Gets all at-rule names that have prefix info.
+     *
+     * @return The (immutable) set of prefixable at-rule names.
+     */
+    public static Set<String> prefixableAtRules() {
+        return AtRules.TABLE.keys();
+    }
+
+    /**
+     * Gets all selector names that have prefix info.
+     *
+     * @return The (immutable) set of prefixable selector names.
+     */
+    public static Set<String> prefixableSelectors() {
+        return Selectors.TABLE.keys();
+    }
+
+    /**
+     * Gets all function names that have prefix info.
+     *
+     * @return The (immutable) set of prefixable function names.
+     */
+    public static Set<String> prefixableFunctions() {
+        return Functions.TABLE.keys();
     }
 
     /**
@@ -106,8 +174,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the property unprefixed.
      */
     public static Double lastVersionPropertyIsPrefixed(Property property, Browser browser) {
-        final Double val = PrefixTables.PROPERTIES.get(property, browser);
-        return val != null ? val : -1d;
+        return Properties.TABLE.get(property, browser);
     }
 
     /**
@@ -121,8 +188,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the keyword unprefixed.
      */
     public static Double lastVersionKeywordIsPrefixed(Keyword keyword, Browser browser) {
-        final Double val = PrefixTables.KEYWORDS.get(keyword, browser);
-        return val != null ? val : -1d;
+        return Keywords.TABLE.get(keyword, browser);
     }
 
     /**
@@ -136,8 +202,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the at-rule unprefixed.
      */
     public static Double lastVersionAtRuleIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.AT_RULES.get(name, browser);
-        return val != null ? val : -1d;
+        return AtRules.TABLE.get(name, browser);
     }
 
     /**
@@ -151,8 +216,7 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the selector unprefixed.
      */
     public static Double lastVersionSelectorIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.SELECTORS.get(name, browser);
-        return val != null ? val : -1d;
+        return Selectors.TABLE.get(name, browser);
     }
 
     /**
@@ -166,7 +230,6 @@ public final class PrefixTablesUtil {
      * @return The last version, or -1 if all known versions of the browser supports the function name unprefixed.
      */
     public static Double lastVersionFunctionIsPrefixed(String name, Browser browser) {
-        final Double val = PrefixTables.FUNCTIONS.get(name, browser);
-        return val != null ? val : -1d;
+        return Functions.TABLE.get(name, browser);
     }
 }
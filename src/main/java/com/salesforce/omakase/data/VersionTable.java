@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A decoded table from {@link PrefixTables}, holding the last prefixed version of each browser as a primitive row per name.
+ *
+ * @param <K>
+ *     Type of the row keys.
+ *
+ * @author nmcwilliams
+ */
+final class VersionTable<K> {
+    private static final Browser[] BROWSERS = Browser.values();
+
+    private final Map<K, double[]> rows;
+    private final Set<K> keys;
+
+    private VersionTable(Map<K, double[]> rows, Set<K> keys) {
+        this.rows = rows;
+        this.keys = keys;
+    }
+
+    /** whether there is a row for the given key */
+    boolean contains(K key) {
+        return rows.containsKey(key);
+    }
+
+    /** all of the row keys */
+    Set<K> keys() {
+        return keys;
+    }
+
+    /** the last prefixed version for the given key and browser, or -1 if there isn't one */
+    double get(K key, Browser browser) {
+        double[] row = rows.get(key);
+        return row == null ? -1d : row[browser.ordinal()];
+    }
+
+    /**
+     * Decodes a table keyed by enum constant name.
+     *
+     * @param klass
+     *     The enum class.
+     * @param encoded
+     *     The encoded table.
+     *
+     * @return The decoded table.
+     */
+    static <E extends Enum<E>> VersionTable<E> decode(Class<E> klass, String encoded) {
+        Map<E, double[]> rows = new EnumMap<>(klass);
+        decode(encoded, (name, row) -> rows.put(Enum.valueOf(klass, name), row));
+        return new VersionTable<>(rows, Sets.immutableEnumSet(rows.keySet()));
+    }
+
+    /**
+     * Decodes a table keyed by name.
+     *
+     * @param encoded
+     *     The encoded table.
+     *
+     * @return The decoded table.
+     */
+    static VersionTable<String> decode(String encoded) {
+        ImmutableMap.Builder<String, double[]> builder = ImmutableMap.builder();
+        decode(encoded, builder::put);
+        ImmutableMap<String, double[]> rows = builder.build();
+        return new VersionTable<>(rows, rows.keySet());
+    }
+
+    /** parses rows of "name BROWSER=version ...;" */
+    private static void decode(String encoded, RowConsumer consumer) {
+        int start = 0;
+        while (start < encoded.length()) {
+            int end = encoded.indexOf(';', start);
+            int space = encoded.indexOf(' ', start);
+            if (space == -1 || space > end) space = end;
+
+            double[] row = new double[BROWSERS.length];
+            Arrays.fill(row, -1d);
+
+            int pair = space + 1;
+            while (pair < end) {
+                int pairEnd = encoded.indexOf(' ', pair);
+                if (pairEnd == -1 || pairEnd > end) pairEnd = end;
+                int equals = encoded.indexOf('=', pair);
+
+                Browser browser = Browser.valueOf(encoded.substring(pair, equals));
+                row[browser.ordinal()] = Double.parseDouble(encoded.substring(equals + 1, pairEnd));
+                pair = pairEnd + 1;
+            }
+
+            consumer.accept(encoded.substring(start, space), row);
+            start = end + 1;
+        }
+    }
+
+    private interface RowConsumer {
+        void accept(String name, double[] row);
+    }
+}
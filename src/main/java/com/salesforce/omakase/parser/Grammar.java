@@ -43,6 +43,7 @@ import com.salesforce.omakase.parser.factory.TokenFactory;
 public final class Grammar {
     private final TokenFactory tokenFactory;
     private final ParserFactory parserFactory;
+    private final boolean sourceFragments;
 
     /**
      * Creates a new instance using standard grammar constructs.
@@ -60,8 +61,23 @@ public final class Grammar {
      *     The parser factory, or null to use the standard.
      */
     public Grammar(TokenFactory tokenFactory, ParserFactory parserFactory) {
+        this(tokenFactory, parserFactory, false);
+    }
+
+    /**
+     * Creates a new instance using standard or custom grammar constructs.
+     *
+     * @param tokenFactory
+     *     The token factory, or null to use the standard.
+     * @param parserFactory
+     *     The parser factory, or null to use the standard.
+     * @param sourceFragments
+     *     Whether parsed statements should keep track of the source they came from. See {@link #sourceFragments()}.
+     */
+    public Grammar(TokenFactory tokenFactory, ParserFactory parserFactory, boolean sourceFragments) {
         this.tokenFactory = tokenFactory != null ? tokenFactory : StandardTokenFactory.instance();
         this.parserFactory = parserFactory != null ? parserFactory : StandardParserFactory.instance();
+        this.sourceFragments = sourceFragments;
     }
 
     /**
@@ -81,4 +97,15 @@ public final class Grammar {
     public ParserFactory parser() {
         return parserFactory;
     }
+
+    /**
+     * Gets whether parsed rules and at-rules should record the range of source they came from, so that they can be written by
+     * copying it while unchanged. This keeps a reference to the full source for as long as the statements are around, so it's
+     * only enabled when a writer asks for it (see {@link com.salesforce.omakase.writer.StyleWriter#passthrough(boolean)}).
+     *
+     * @return True if source ranges should be recorded.
+     */
+    public boolean sourceFragments() {
+        return sourceFragments;
+    }
 }
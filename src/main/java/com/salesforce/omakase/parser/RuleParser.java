@@ -31,6 +31,7 @@ import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.selector.Selector;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.QueryableBroadcaster;
+import com.salesforce.omakase.writer.Fragment;
 
 /**
  * Parses a {@link Rule}.
@@ -47,6 +48,7 @@ public final class RuleParser implements Parser {
         // save off current line and column
         int line = source.originalLine();
         int column = source.originalColumn();
+        int start = source.index();
 
         // wrap the broadcaster inside a queryable so we can gather the selectors and declarations
         QueryableBroadcaster queryable = new QueryableBroadcaster(broadcaster);
@@ -71,9 +73,32 @@ public final class RuleParser implements Parser {
         // parse the end of the block (must be after orphaned comments parsing)
         source.expect(grammar.token().declarationBlockEnd());
 
+        // keep track of the source range if requested, so that the rule can be written from it as long as it doesn't change.
+        // The selectors and declarations were already broadcasted, so if any were refined then the source is already out of date
+        if (grammar.sourceFragments() && unchanged(rule)) {
+            Fragment fragment = new Fragment(rule, source.content(), start, source.index());
+            rule.fragment(fragment);
+            for (Selector selector : rule.selectors()) {
+                selector.fragment(fragment);
+            }
+            for (Declaration declaration : rule.declarations()) {
+                declaration.fragment(fragment);
+            }
+        }
+
         // broadcast the rule
         broadcaster.broadcast(rule);
         return true;
     }
 
+    private static boolean unchanged(Rule rule) {
+        for (Selector selector : rule.selectors()) {
+            if (selector.isRefined()) return false;
+        }
+        for (Declaration declaration : rule.declarations()) {
+            if (declaration.isRefined()) return false;
+        }
+        return true;
+    }
+
 }
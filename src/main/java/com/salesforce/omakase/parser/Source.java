@@ -34,6 +34,7 @@ import com.salesforce.omakase.parser.token.Token;
 import com.salesforce.omakase.parser.token.TokenEnum;
 import com.salesforce.omakase.parser.token.Tokens;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -92,6 +93,9 @@ public final class Source {
     /** the character that opened the last string */
     private Token stringToken = null;
 
+    /** read-only view of the source characters, created when first needed */
+    private CharSequence content;
+
     /** collection of parsed CSS comments */
     private List<String> comments;
 
@@ -276,6 +280,16 @@ public final class Source {
         return new String(chars);
     }
 
+    /**
+     * Gets a read-only view of the full original source. Unlike {@link #fullSource()}, this doesn't copy the source.
+     *
+     * @return A view of the full original source.
+     */
+    public CharSequence content() {
+        if (content == null) content = CharBuffer.wrap(chars).asReadOnlyBuffer();
+        return content;
+    }
+
     /**
      * Gets the remaining text in the source, including the current character. This does not advance the current position.
      *
@@ -39,6 +39,7 @@ import com.salesforce.omakase.parser.ParserException;
 import com.salesforce.omakase.parser.Source;
 import com.salesforce.omakase.parser.factory.TokenFactory;
 import com.salesforce.omakase.parser.token.Tokens;
+import com.salesforce.omakase.writer.Fragment;
 
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +62,7 @@ public final class AtRuleParser implements Parser {
         // save off current line and column
         int startLine = source.originalLine();
         int startColumn = source.originalColumn();
+        int start = source.index();
 
         // must begin with '@'
         if (!source.optionallyPresent(Tokens.AT_RULE)) return false;
@@ -98,6 +100,11 @@ public final class AtRuleParser implements Parser {
         AtRule atRule = new AtRule(startLine, startColumn, name.get(), expression, block);
         atRule.comments(comments);
 
+        // keep track of the source range, so that the at-rule can be written from it as long as it doesn't change
+        if (grammar.sourceFragments()) {
+            atRule.fragment(new Fragment(atRule, source.content(), start, source.index()));
+        }
+
         broadcaster.chainBroadcast(atRule,
             new ConsumingBroadcaster<>(AtRuleExpression.class, atRule::expression),
             new ConsumingBroadcaster<>(AtRuleBlock.class, atRule::block));
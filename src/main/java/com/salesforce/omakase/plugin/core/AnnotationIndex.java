@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.core;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.salesforce.omakase.ast.CssAnnotation;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.collection.Groupable;
+import com.salesforce.omakase.broadcast.annotation.Observe;
+import com.salesforce.omakase.plugin.Plugin;
+import com.salesforce.omakase.plugin.PostProcessingPlugin;
+import com.salesforce.omakase.util.As;
+
+/**
+ * A plugin that indexes all units with {@link CssAnnotation}s by annotation name.
+ * <p>
+ * This allows finding every unit with a particular annotation (e.g., "@noflip", "@browser") without walking the whole stylesheet.
+ * Units are indexed as they are observed, so the index is complete once processing has finished (e.g., from a {@link
+ * PostProcessingPlugin} or after {@code process()} returns). Annotations added to a unit after it has been observed are not
+ * picked up, and destroyed units are excluded from the results.
+ * <p>
+ * Example:
+ * <pre><code>
+ * AnnotationIndex index = new AnnotationIndex();
+ * Omakase.source(input).use(index).process();
+ * for (Syntax unit : index.annotated("noflip")) {...}
+ * </code></pre>
+ *
+ * @author nmcwilliams
+ */
+public final class AnnotationIndex implements Plugin {
+    private final SetMultimap<String, Syntax> index = LinkedHashMultimap.create();
+
+    /**
+     * Indexes the annotations of the given unit. Library method - do not call directly.
+     *
+     * @param unit
+     *     The unit.
+     */
+    @Observe
+    public void syntax(Syntax unit) {
+        if (!unit.hasAnnotations()) return;
+        for (CssAnnotation annotation : unit.annotations()) {
+            index.put(annotation.name(), unit);
+        }
+    }
+
+    /**
+     * Gets all units with an annotation of the given name, in the order they were observed.
+     *
+     * @param name
+     *     The annotation name (without the '@').
+     *
+     * @return The matching units, or an empty list if there are none.
+     */
+    public ImmutableList<Syntax> annotated(String name) {
+        return annotated(name, Syntax.class);
+    }
+
+    /**
+     * Gets all units of the given type with an annotation of the given name, in the order they were observed.
+     *
+     * @param name
+     *     The annotation name (without the '@').
+     * @param klass
+     *     Only include units of this type.
+     * @param <T>
+     *     Type of the units.
+     *
+     * @return The matching units, or an empty list if there are none.
+     */
+    public <T extends Syntax> ImmutableList<T> annotated(String name, Class<T> klass) {
+        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (Syntax unit : index.get(name)) {
+            if (klass.isInstance(unit) && !isDestroyed(unit)) {
+                builder.add(klass.cast(unit));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets whether any unit has an annotation of the given name.
+     *
+     * @param name
+     *     The annotation name (without the '@').
+     *
+     * @return True if at least one unit has the annotation.
+     */
+    public boolean contains(String name) {
+        return !annotated(name).isEmpty();
+    }
+
+    private static boolean isDestroyed(Syntax unit) {
+        return unit instanceof Groupable && ((Groupable<?, ?>)unit).isDestroyed();
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).fields().toString();
+    }
+}
@@ -28,8 +28,10 @@ package com.salesforce.omakase.plugin.prefixer;
 
 import com.google.common.collect.Multimap;
 import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.Status;
 import com.salesforce.omakase.ast.collection.Groupable;
 import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.PropertyValue;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.util.Actions;
 import com.salesforce.omakase.util.SupportMatrix;
@@ -51,14 +53,14 @@ import java.util.Set;
  */
 abstract class AbstractHandler<T, G extends Groupable<?, G>> implements Handler<T> {
     @Override
-    public boolean handle(T instance, boolean rearrange, boolean prune, SupportMatrix support) {
+    public boolean handle(T instance, boolean rearrange, boolean prune, SupportMatrix support, PrefixedIndex index) {
         if (!applicable(instance, support)) return false;
 
         // gather all required prefixes
         Set<Prefix> required = required(instance, support);
 
         // find all prefixed equivalents
-        Multimap<Prefix, ? extends G> equivalents = equivalents(instance);
+        Multimap<Prefix, ? extends G> equivalents = equivalents(instance, index);
 
         // get the main unprefixed object of question
         G subject = subject(instance);
@@ -72,7 +74,9 @@ abstract class AbstractHandler<T, G extends Groupable<?, G>> implements Handler<
                 }
                 equivalents.removeAll(prefix);
             } else {
+                G previous = subject.previous().orElse(null);
                 copy(subject, prefix, support);
+                index.prepended(subject, previous);
             }
         }
 
@@ -80,6 +84,7 @@ abstract class AbstractHandler<T, G extends Groupable<?, G>> implements Handler<
         if (!equivalents.isEmpty()) {
             if (prune) {
                 Actions.destroy().apply(equivalents.values());
+                index.destroyed(subject, equivalents.size());
             } else if (rearrange) {
                 Actions.<G>moveBefore().apply(subject, equivalents.values());
             }
@@ -97,9 +102,25 @@ abstract class AbstractHandler<T, G extends Groupable<?, G>> implements Handler<
     /** should return the set of required {@link Prefix}es for the given instance */
     protected abstract Set<Prefix> required(T instance, SupportMatrix support);
 
-    /** should return the set of related objects that may be existing prefixed equivalents for rearrangement or removal */
-    protected abstract Multimap<Prefix, ? extends G> equivalents(T instance);
+    /**
+     * should return the set of related objects that may be existing prefixed equivalents for rearrangement or removal. Handlers
+     * locating declarations by property name should use the given index.
+     */
+    protected abstract Multimap<Prefix, ? extends G> equivalents(T instance, PrefixedIndex index);
 
     /** should make (and prepends) a copy of the instance with the given prefix */
     protected abstract void copy(G original, Prefix prefix, SupportMatrix support);
+
+    /**
+     * copies the declaration, using the given value instead of a copy of the declaration's own value. Everything else is carried
+     * over the same as {@link Declaration#copy()} does.
+     */
+    static Declaration copy(Declaration original, PropertyValue value) {
+        Declaration copy = new Declaration(original.propertyName().copy(), value);
+        copy.comments(original).orphanedComments(original);
+        if (original.status() == Status.RAW) {
+            copy.status(Status.RAW);
+        }
+        return copy;
+    }
 }
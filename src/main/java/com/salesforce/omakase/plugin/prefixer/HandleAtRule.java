@@ -58,7 +58,7 @@ final class HandleAtRule extends AbstractHandlerSimple<AtRule, Statement> {
     }
 
     @Override
-    protected Multimap<Prefix, AtRule> equivalents(AtRule instance) {
+    protected Multimap<Prefix, AtRule> equivalents(AtRule instance, PrefixedIndex index) {
         return Equivalents.prefixes(subject(instance), instance, Equivalents.AT_RULES);
     }
 
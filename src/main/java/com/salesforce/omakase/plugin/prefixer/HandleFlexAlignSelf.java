@@ -33,7 +33,6 @@ import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
@@ -53,18 +52,8 @@ final class HandleFlexAlignSelf extends HandleProperty {
     }
 
     @Override
-    protected Multimap<Prefix, Declaration> equivalents(final Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.ALIGN_SELF) ||
-                    peer.isPropertyIgnorePrefix("flex-item-align"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.ALIGN_SELF.toString(), "flex-item-align");
     }
 
     @Override
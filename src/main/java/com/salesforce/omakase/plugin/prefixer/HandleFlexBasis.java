@@ -31,7 +31,6 @@ import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 
 /**
@@ -48,18 +47,8 @@ final class HandleFlexBasis extends HandleProperty {
     }
 
     @Override
-    protected Multimap<Prefix, Declaration> equivalents(final Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.FLEX_BASIS) ||
-                    peer.isPropertyIgnorePrefix("flex-preferred-size"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.FLEX_BASIS.toString(), "flex-preferred-size");
     }
 
     @Override
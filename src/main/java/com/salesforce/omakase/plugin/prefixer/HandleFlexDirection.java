@@ -33,7 +33,6 @@ import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
@@ -68,19 +67,8 @@ final class HandleFlexDirection extends AbstractHandler<Declaration, Declaration
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.FLEX_DIRECTION) ||
-                    peer.isPropertyIgnorePrefix("box-direction") ||
-                    peer.isPropertyIgnorePrefix("box-orient"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.FLEX_DIRECTION.toString(), "box-direction", "box-orient");
     }
 
     @Override
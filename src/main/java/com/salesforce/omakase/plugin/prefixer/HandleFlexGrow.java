@@ -31,7 +31,6 @@ import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 
 /**
@@ -48,19 +47,9 @@ final class HandleFlexGrow extends HandleProperty {
     }
 
     @Override
-    protected Multimap<Prefix, Declaration> equivalents(final Declaration instance) {
+    protected Multimap<Prefix, Declaration> equivalents(Declaration instance, PrefixedIndex index) {
         // this won't remove or rearrange box-flex properties
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.FLEX_GROW) ||
-                    peer.isPropertyIgnorePrefix("flex-positive"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+        return index.equivalents(subject(instance), Property.FLEX_GROW.toString(), "flex-positive");
     }
 
     @Override
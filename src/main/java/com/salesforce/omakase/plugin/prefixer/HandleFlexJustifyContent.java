@@ -33,7 +33,6 @@ import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
@@ -64,19 +63,8 @@ final class HandleFlexJustifyContent extends AbstractHandler<Declaration, Declar
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.JUSTIFY_CONTENT) ||
-                    peer.isPropertyIgnorePrefix("box-pack") ||
-                    peer.isPropertyIgnorePrefix("flex-pack"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.JUSTIFY_CONTENT.toString(), "box-pack", "flex-pack");
     }
 
     @Override
@@ -32,7 +32,6 @@ import com.salesforce.omakase.ast.declaration.NumericalValue;
 import com.salesforce.omakase.ast.declaration.PropertyName;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
@@ -63,19 +62,8 @@ final class HandleFlexOrder extends AbstractHandler<Declaration, Declaration> {
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Declaration> equivalents(final Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.ORDER) ||
-                    peer.isPropertyIgnorePrefix("flex-order") ||
-                    peer.isPropertyIgnorePrefix("box-ordinal-group"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.ORDER.toString(), "flex-order", "box-ordinal-group");
     }
 
     @Override
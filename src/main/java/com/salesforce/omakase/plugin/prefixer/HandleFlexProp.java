@@ -35,7 +35,6 @@ import com.salesforce.omakase.ast.declaration.PropertyValueMember;
 import com.salesforce.omakase.data.Keyword;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
@@ -66,18 +65,8 @@ final class HandleFlexProp extends AbstractHandler<Declaration, Declaration> {
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Declaration> equivalents(final Declaration instance) {
-        Equivalents.EquivalentWalker<Declaration, Declaration> walker = new Equivalents.Base<Declaration, Declaration>() {
-            @Override
-            public Declaration locate(Declaration peer, Declaration unprefixed) {
-                if (peer.isPrefixed() && (peer.isPropertyIgnorePrefix(Property.FLEX) ||
-                    peer.isPropertyIgnorePrefix("box-flex"))) {
-                    return peer;
-                }
-                return null;
-            }
-        };
-        return Equivalents.prefixes(subject(instance), instance, walker);
+    protected Multimap<Prefix, ? extends Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), Property.FLEX.toString(), "box-flex");
     }
 
     @Override
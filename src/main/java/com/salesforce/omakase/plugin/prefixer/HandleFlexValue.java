@@ -80,7 +80,7 @@ final class HandleFlexValue extends AbstractHandler<KeywordValue, Declaration> {
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Declaration> equivalents(KeywordValue instance) {
+    protected Multimap<Prefix, ? extends Declaration> equivalents(KeywordValue instance, PrefixedIndex index) {
         // find all of the variants that are equivalent
         Equivalents.EquivalentWalker<Declaration, KeywordValue> walker = new Equivalents.Base<Declaration, KeywordValue>() {
             @Override
@@ -35,6 +35,7 @@ import com.salesforce.omakase.ast.declaration.FunctionValue;
 import com.salesforce.omakase.ast.declaration.GenericFunctionValue;
 import com.salesforce.omakase.ast.declaration.LinearGradientFunctionValue;
 import com.salesforce.omakase.ast.declaration.NumericalValue;
+import com.salesforce.omakase.ast.declaration.Term;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.PrefixTablesUtil;
 import com.salesforce.omakase.parser.Source;
@@ -54,7 +55,7 @@ import java.util.Set;
  *
  * @author nmcwilliams
  */
-final class HandleFunction extends AbstractHandlerSimple<FunctionValue, Declaration> {
+final class HandleFunction extends AbstractHandler<FunctionValue, Declaration> {
     private static final Map<String, String> DIR_FLIP = ImmutableMap.<String, String>builder()
         .put("to bottom", "top")
         .put("to top", "bottom")
@@ -82,57 +83,56 @@ final class HandleFunction extends AbstractHandlerSimple<FunctionValue, Declarat
     }
 
     @Override
-    protected Multimap<Prefix, Declaration> equivalents(FunctionValue instance) {
+    protected Multimap<Prefix, Declaration> equivalents(FunctionValue instance, PrefixedIndex index) {
         return Equivalents.prefixes(subject(instance), instance, Equivalents.FUNCTION_VALUES);
     }
 
-//    @Override
-//    protected void copy(Declaration original, Prefix prefix, SupportMatrix support) {
-//        if (!original.isPrefixed() || original.propertyName().prefix().get() == prefix) {
-//            super.copy(original, prefix, support);
-//        }
-//    }
-//    for (FunctionValue fv : Values.filter(FunctionValue.class, original.propertyValue())) {
-//        if (Prefixes.parsePrefix(fv.name()).isPresent()) {
-//            return;
-//        }
-//    }
-
     @Override
-    protected void prefix(Declaration copied, Prefix prefix, SupportMatrix support) {
+    protected void copy(Declaration original, Prefix prefix, SupportMatrix support) {
+        Declaration copy = copy(original, Values.rewrite(original.propertyValue(), term -> prefixed(term, prefix, support)));
+        original.prepend(copy);
+    }
+
+    /** gets a prefixed replacement for the term, or null if the term doesn't need to be prefixed */
+    private static Term prefixed(Term term, Prefix prefix, SupportMatrix support) {
         // general functions
-        for (GenericFunctionValue fv : Values.filter(GenericFunctionValue.class, copied.propertyValue())) {
-            if (support.requiresPrefixForFunction(prefix, fv.name())) {
-                fv.name(prefix + fv.name());
-            }
+        if (term instanceof GenericFunctionValue) {
+            GenericFunctionValue fv = (GenericFunctionValue)term;
+            if (!support.requiresPrefixForFunction(prefix, fv.name())) return null;
+            return GenericFunctionValue.of(prefix + fv.name(), fv.args());
         }
 
         // linear gradient special syntax
-        for (LinearGradientFunctionValue fv : Values.filter(LinearGradientFunctionValue.class, copied.propertyValue())) {
-            if (support.requiresPrefixForFunction(prefix, fv.unprefixedName())) {
-                String newArgs = fv.args();
+        if (term instanceof LinearGradientFunctionValue) {
+            LinearGradientFunctionValue fv = (LinearGradientFunctionValue)term;
+            if (!support.requiresPrefixForFunction(prefix, fv.unprefixedName())) return null;
 
-                char first = fv.args().charAt(0);
-                if (first == 't') {
-                    // "to" syntax -> "from" syntax
-                    List<String> split = Lists.newArrayList(Splitter.on(",").limit(2).split(fv.args()));
-                    String from = DIR_FLIP.get(split.get(0));
-                    if (from != null) {
-                        newArgs = from + "," + split.get(1);
-                    }
-                } else if (Tokens.DIGIT.matches(first) || first == '-') {
-                    // convert angle http://www.sitepoint.com/using-unprefixed-css3-gradients-in-modern-browsers/
-                    Source source = new Source(fv.args());
-                    Optional<NumericalValue> numerical = Parsers.parseNumerical(source);
-                    if (numerical.isPresent() && numerical.get().unit().isPresent()) {
-                        int angle = Math.abs(numerical.get().intValue() - 450) % 360;
-                        newArgs = angle + numerical.get().unit().get() + source.remaining();
-                    }
-                }
+            String newArgs = fv.args();
 
-                fv.prefix(prefix);
-                fv.args(newArgs);
+            char first = fv.args().charAt(0);
+            if (first == 't') {
+                // "to" syntax -> "from" syntax
+                List<String> split = Lists.newArrayList(Splitter.on(",").limit(2).split(fv.args()));
+                String from = DIR_FLIP.get(split.get(0));
+                if (from != null) {
+                    newArgs = from + "," + split.get(1);
+                }
+            } else if (Tokens.DIGIT.matches(first) || first == '-') {
+                // convert angle http://www.sitepoint.com/using-unprefixed-css3-gradients-in-modern-browsers/
+                Source source = new Source(fv.args());
+                Optional<NumericalValue> numerical = Parsers.parseNumerical(source);
+                if (numerical.isPresent() && numerical.get().unit().isPresent()) {
+                    int angle = Math.abs(numerical.get().intValue() - 450) % 360;
+                    newArgs = angle + numerical.get().unit().get() + source.remaining();
+                }
             }
+
+            LinearGradientFunctionValue copy = fv.copy();
+            copy.prefix(prefix);
+            copy.args(newArgs);
+            return copy;
         }
+
+        return null;
     }
 }
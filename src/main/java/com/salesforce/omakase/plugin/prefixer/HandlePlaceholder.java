@@ -74,7 +74,7 @@ final class HandlePlaceholder extends AbstractHandler<PseudoElementSelector, Sta
     }
 
     @Override
-    protected Multimap<Prefix, ? extends Statement> equivalents(PseudoElementSelector instance) {
+    protected Multimap<Prefix, ? extends Statement> equivalents(PseudoElementSelector instance, PrefixedIndex index) {
         // this custom walker is based on the fact that the standard pseudo walkers will stop at the first non-match (walkAll
         // returns false). We want to to continue walking as long as any one of the following four permutations match.
         Equivalents.EquivalentWalker<Rule, Named> walker = new Equivalents.RuleBase<Named>() {
@@ -31,7 +31,6 @@ import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.PrefixTablesUtil;
 import com.salesforce.omakase.data.Property;
-import com.salesforce.omakase.util.Equivalents;
 import com.salesforce.omakase.util.SupportMatrix;
 
 import java.util.Optional;
@@ -60,8 +59,8 @@ class HandleProperty extends AbstractHandlerSimple<Declaration, Declaration> {
     }
 
     @Override
-    protected Multimap<Prefix, Declaration> equivalents(Declaration instance) {
-        return Equivalents.prefixes(subject(instance), instance, Equivalents.PROPERTIES);
+    protected Multimap<Prefix, Declaration> equivalents(Declaration instance, PrefixedIndex index) {
+        return index.equivalents(subject(instance), instance.propertyName().unprefixed());
     }
 
     @Override
@@ -61,7 +61,7 @@ final class HandlePseudoElement extends AbstractHandlerSimple<PseudoElementSelec
     }
 
     @Override
-    protected Multimap<Prefix, Rule> equivalents(PseudoElementSelector instance) {
+    protected Multimap<Prefix, Rule> equivalents(PseudoElementSelector instance, PrefixedIndex index) {
         return Equivalents.prefixes(subject(instance), instance, Equivalents.PSEUDO_ELEMENTS);
     }
 
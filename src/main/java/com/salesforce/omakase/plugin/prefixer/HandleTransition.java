@@ -28,12 +28,15 @@ package com.salesforce.omakase.plugin.prefixer;
 
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.ast.declaration.PropertyValue;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.data.Property;
 import com.salesforce.omakase.util.SupportMatrix;
 import com.salesforce.omakase.util.Values;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -49,9 +52,9 @@ import java.util.Optional;
  */
 final class HandleTransition extends HandleProperty {
     @Override
-    public boolean handle(Declaration instance, boolean rearrange, boolean prune, SupportMatrix support) {
+    public boolean handle(Declaration instance, boolean rearrange, boolean prune, SupportMatrix support, PrefixedIndex index) {
         if (applicable(instance, support)) {
-            boolean handled = super.handle(instance, rearrange, prune, support);
+            boolean handled = super.handle(instance, rearrange, prune, support, index);
             if (!handled) {
                 // the "transition" property may not need a prefix, but one of the values still might
                 prefixValues(instance, support);
@@ -70,28 +73,33 @@ final class HandleTransition extends HandleProperty {
     }
 
     @Override
-    protected void prefix(Declaration copied, Prefix prefix, SupportMatrix support) {
-        super.prefix(copied, prefix, support); // prefix the property as normal
-        prefixValues(copied, prefix, support); // special-case, also prefix prefixable property names in the value
+    protected void copy(Declaration original, Prefix prefix, SupportMatrix support) {
+        // special-case, also prefix prefixable property names in the value
+        Declaration copy = copy(original, prefixValues(original.propertyValue(), prefix, support));
+        prefix(copy, prefix, support); // prefix the property as normal
+        original.prepend(copy);
     }
 
     /**
-     * Prefixes property names in the declaration value using the given prefix, if applicable.
+     * Copies the declaration value, prefixing property names in it using the given prefix, if applicable.
      *
-     * @param instance
-     *     The declaration.
+     * @param value
+     *     The declaration value.
      * @param prefix
      *     The prefix to apply, if necessary.
      * @param support
      *     The support matrix.
+     *
+     * @return The copied value.
      */
-    private void prefixValues(Declaration instance, Prefix prefix, SupportMatrix support) {
-        for (KeywordValue kw : Values.filter(KeywordValue.class, instance.propertyValue())) {
-            Property property = Property.lookup(kw.keyword());
-            if (property != null && support.requiresPrefixForProperty(prefix, property)) {
-                kw.keyword(prefix + kw.keyword());
-            }
-        }
+    private static PropertyValue prefixValues(PropertyValue value, Prefix prefix, SupportMatrix support) {
+        return Values.rewrite(value, term -> {
+            if (!(term instanceof KeywordValue)) return null;
+            String keyword = ((KeywordValue)term).keyword();
+            Property property = Property.lookup(keyword);
+            if (property == null || !support.requiresPrefixForProperty(prefix, property)) return null;
+            return KeywordValue.of(prefix + keyword);
+        });
     }
 
     /**
@@ -115,10 +123,12 @@ final class HandleTransition extends HandleProperty {
         }
 
         // add a prefixed copy for each required prefix
+        List<Declaration> copies = new ArrayList<>(prefixes.size());
         for (Prefix prefix : prefixes) {
-            Declaration copy = instance.copy();
-            prefixValues(copy, prefix, support);
-            instance.prepend(copy);
+            copies.add(copy(instance, prefixValues(instance.propertyValue(), prefix, support)));
+        }
+        if (!copies.isEmpty()) {
+            instance.group().prependAllBefore(instance, copies);
         }
     }
 }
@@ -48,8 +48,10 @@ interface Handler<T> {
      *     If true, existing prefixes may be removed.
      * @param support
      *     Browser support data.
+     * @param index
+     *     Index of prefixed declarations, for finding prefixed equivalents.
      *
      * @return True if the object was "handled" and should not be passed on to another handler.
      */
-    boolean handle(T instance, boolean rearrange, boolean prune, SupportMatrix support);
+    boolean handle(T instance, boolean rearrange, boolean prune, SupportMatrix support, PrefixedIndex index);
 }
@@ -26,7 +26,12 @@
 
 package com.salesforce.omakase.plugin.prefixer;
 
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.StatementIterable;
+import com.salesforce.omakase.ast.Stylesheet;
 import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.collection.Groupable;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.broadcast.annotation.Rework;
 import com.salesforce.omakase.data.Prefix;
@@ -34,7 +39,15 @@ import com.salesforce.omakase.plugin.Plugin;
 import com.salesforce.omakase.util.Declarations;
 import com.salesforce.omakase.util.Prefixes;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * This plugin handles removing unnecessary prefixed units.
@@ -68,14 +81,20 @@ import java.util.Optional;
  *      .use(PrefixCleaner.mismatchedPrefixedUnits())
  *      .process()
  * </code></pre>
- * You can also specify the only prefix you want to keep with the {@link #keep(Prefix)} method, and all other prefixed selectors,
- * at-rules, declarations, etc... that don't match will be removed. This can be useful if you are generating browser-specific
- * versions of your CSS. <b>Not yet supported!</b>
+ * You can also specify the only prefixes you want to keep with the {@link #keep(Prefix)} method, and all other prefixed
+ * declarations (by property name, keyword or function), rules (by pseudo element or pseudo class selector) and at-rules that
+ * don't match will be removed. Use {@link #keepNone()} to remove all prefixed units. This can be useful if you are generating
+ * browser-specific versions of your CSS, or lean versions for modern browsers from legacy sources. Only refined selectors and
+ * declaration values are checked, so this is best used with {@link com.salesforce.omakase.plugin.core.AutoRefine}.
+ * <p>
+ * Units are removed in one sweep over the stylesheet after all other processing is done, so prefixed units added by the {@link
+ * Prefixer} are removed as well.
  *
  * @author nmcwilliams
  */
 public final class PrefixCleaner implements Plugin {
     private boolean prefixedAtRules;
+    private Set<Prefix> kept;
 
     /**
      * Creates a new {@link PrefixCleaner} instance.
@@ -94,7 +113,7 @@ public final class PrefixCleaner implements Plugin {
     }
 
     /**
-     * NOT IMPLEMENTED: Removes all units with a prefix that doesn't match the given one.
+     * Removes all units with a prefix that doesn't match the given one. Call this multiple times to keep several prefixes.
      *
      * @param prefix
      *     Only keep units with this prefix.
@@ -102,9 +121,22 @@ public final class PrefixCleaner implements Plugin {
      * @return this, for chaining.
      */
     public PrefixCleaner keep(Prefix prefix) {
-        // this.keeper = checkNotNull(prefix, "prefix cannot be null");
-        //return this;
-        throw new UnsupportedOperationException("not yet supported");
+        checkNotNull(prefix, "prefix cannot be null");
+        keepNone();
+        kept.add(prefix);
+        return this;
+    }
+
+    /**
+     * Removes all prefixed units, except for those with a prefix specified with {@link #keep(Prefix)}.
+     *
+     * @return this, for chaining.
+     */
+    public PrefixCleaner keepNone() {
+        if (kept == null) {
+            kept = EnumSet.noneOf(Prefix.class);
+        }
+        return this;
     }
 
     /**
@@ -126,7 +158,8 @@ public final class PrefixCleaner implements Plugin {
      */
     @Rework
     public void atRule(AtRule atRule) {
-        if (prefixedAtRules && atRule.isRefined() && atRule.name() != null && atRule.block().isPresent()) {
+        // when keeping specific prefixes this is handled by the sweep instead
+        if (prefixedAtRules && kept == null && atRule.isRefined() && atRule.name() != null && atRule.block().isPresent()) {
             Optional<Prefix> prefix = Prefixes.parsePrefix(atRule.name());
             if (prefix.isPresent()) {
                 for (Declaration declaration : Declarations.within(atRule.block().get())) {
@@ -139,6 +172,57 @@ public final class PrefixCleaner implements Plugin {
         }
     }
 
+    /**
+     * Subscription method - do not call directly.
+     *
+     * @param stylesheet
+     *     Sweep this stylesheet.
+     */
+    @Rework
+    public void stylesheet(Stylesheet stylesheet) {
+        if (kept == null) return;
+
+        // group the units to remove by prefix in one traversal, then remove them, instead of modifying while iterating
+        Map<Prefix, List<Groupable<?, ?>>> removals = new EnumMap<>(Prefix.class);
+        sweep(stylesheet, null, removals);
+
+        for (List<Groupable<?, ?>> units : removals.values()) {
+            for (Groupable<?, ?> unit : units) {
+                unit.destroy();
+            }
+        }
+    }
+
+    private void sweep(StatementIterable parent, Prefix enclosing, Map<Prefix, List<Groupable<?, ?>>> removals) {
+        for (Statement statement : parent.statements()) {
+            if (statement instanceof Rule) {
+                Rule rule = (Rule)statement;
+                if (!remove(rule, PrefixedUnits.prefix(rule), enclosing, removals)) {
+                    for (Declaration declaration : rule.declarations()) {
+                        remove(declaration, PrefixedUnits.prefix(declaration), enclosing, removals);
+                    }
+                }
+            } else if (statement instanceof AtRule) {
+                AtRule atRule = (AtRule)statement;
+                Optional<Prefix> prefix = PrefixedUnits.prefix(atRule);
+                if (!remove(atRule, prefix, null, removals) && atRule.block().isPresent()) {
+                    Prefix inner = prefixedAtRules && atRule.isRefined() && prefix.isPresent() ? prefix.get() : enclosing;
+                    sweep(atRule.block().get(), inner, removals);
+                }
+            }
+        }
+    }
+
+    /** adds the unit to the removals if its prefix isn't kept, or doesn't match the prefix of the enclosing at-rule */
+    private boolean remove(Groupable<?, ?> unit, Optional<Prefix> prefix, Prefix enclosing,
+        Map<Prefix, List<Groupable<?, ?>>> removals) {
+        if (!prefix.isPresent()) return false;
+        Prefix p = prefix.get();
+        if (kept.contains(p) && (enclosing == null || enclosing == p)) return false;
+        removals.computeIfAbsent(p, k -> new ArrayList<>()).add(unit);
+        return true;
+    }
+
     /**
      * Creates a new {@link PrefixCleaner} that will eliminate prefixed declarations within prefixed at-rules, where the
      * declaration's prefix doesn't match the at-rule's prefix.
@@ -150,8 +234,7 @@ public final class PrefixCleaner implements Plugin {
     }
 
     /**
-     * NOT IMPLEMENTED: Creates a new {@link PrefixCleaner} that will eliminate all units with prefixes that do not match the
-     * given prefix.
+     * Creates a new {@link PrefixCleaner} that will eliminate all units with prefixes that do not match the given prefix.
      *
      * @param prefix
      *     Only keep units with this prefix.
@@ -161,4 +244,13 @@ public final class PrefixCleaner implements Plugin {
     public static PrefixCleaner onlyKeep(Prefix prefix) {
         return new PrefixCleaner(prefix);
     }
+
+    /**
+     * Creates a new {@link PrefixCleaner} that will eliminate all prefixed units.
+     *
+     * @return The new {@link PrefixCleaner} instance.
+     */
+    public static PrefixCleaner removeAllPrefixed() {
+        return new PrefixCleaner().keepNone();
+    }
 }
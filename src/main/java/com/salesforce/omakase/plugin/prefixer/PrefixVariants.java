@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.google.common.collect.ImmutableMap;
+import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.plugin.DependentPlugin;
+import com.salesforce.omakase.writer.MultiWriter;
+import com.salesforce.omakase.writer.StyleWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Writes one output per vendor {@link Prefix} family from a single parse, refine and {@link Prefixer} run.
+ * <p>
+ * The syntax tree is shared by every variant. Instead of removing the declarations, rules and at-rules specific to other prefixes
+ * from the tree (as {@link PrefixCleaner} would, once per output), each variant's {@link StyleWriter} skips them while writing.
+ * Unprefixed content is written in every variant.
+ * <p>
+ * Use a {@link Prefixer} with a {@link com.salesforce.omakase.util.SupportMatrix} that covers the browsers of every variant. As
+ * the prefixes added for a browser only depend on the versions of that browser's own family, the prefixed content in each output
+ * is the same as what a {@link Prefixer} limited to that family's browsers would have added.
+ * <p>
+ * Only one {@link StyleWriter} can be registered per run, so add the writers to this plugin instead of registering them directly
+ * (this uses a {@link MultiWriter} internally). Adding a writer registers {@link com.salesforce.omakase.writer.CustomWriter}s on
+ * it for {@link Rule}, {@link AtRule} and {@link Declaration}, in addition to any already added.
+ * <p>
+ * Example:
+ * <pre><code>
+ * PrefixVariants variants = new PrefixVariants()
+ *     .add(Prefix.WEBKIT, StyleWriter.compressed())
+ *     .add(Prefix.MOZ, StyleWriter.compressed());
+ * Omakase.source(input).use(Prefixer.customBrowserSupport(support)).use(variants).process();
+ * Map&lt;Prefix, String&gt; outputs = variants.write();
+ * </code></pre>
+ *
+ * @author nmcwilliams
+ */
+public final class PrefixVariants implements DependentPlugin {
+    private final Map<Prefix, StyleWriter> writers = new EnumMap<>(Prefix.class);
+    private final List<Prefix> order = new ArrayList<>(); // same order as the writers in the MultiWriter
+    private final MultiWriter multi = new MultiWriter();
+
+    @Override
+    public void dependencies(PluginRegistry registry) {
+        multi.dependencies(registry);
+    }
+
+    /**
+     * Adds a {@link StyleWriter} for the given {@link Prefix}. Content specific to any other prefix will be skipped when writing
+     * with this writer. Do not also register the writer as a plugin.
+     *
+     * @param prefix
+     *     The prefix to keep.
+     * @param writer
+     *     The writer for the variant.
+     *
+     * @return this, for chaining.
+     */
+    public PrefixVariants add(Prefix prefix, StyleWriter writer) {
+        checkNotNull(prefix, "prefix cannot be null");
+        checkNotNull(writer, "writer cannot be null");
+        checkArgument(!writers.containsKey(prefix), "a variant for %s was already added", prefix);
+        checkArgument(!writers.containsValue(writer), "the writer was already added for another prefix");
+
+        multi.add(writer);
+        writers.put(prefix, writer);
+        order.add(prefix);
+
+        writer.addCustomWriter(Declaration.class, (declaration, w, appendable) ->
+            PrefixedUnits.mismatched(PrefixedUnits.prefix(declaration), prefix));
+        writer.addCustomWriter(AtRule.class, (atRule, w, appendable) ->
+            PrefixedUnits.mismatched(PrefixedUnits.prefix(atRule), prefix));
+        writer.addCustomWriter(Rule.class, (rule, w, appendable) -> skip(rule, prefix));
+        return this;
+    }
+
+    /**
+     * Gets the added writers.
+     *
+     * @return The writers, by prefix.
+     */
+    public Map<Prefix, StyleWriter> writers() {
+        return ImmutableMap.copyOf(writers);
+    }
+
+    /**
+     * Writes the entire processed stylesheet once per variant.
+     *
+     * @return The CSS output of each variant, by prefix.
+     */
+    public Map<Prefix, String> write() {
+        List<String> outputs = multi.write();
+        Map<Prefix, String> map = new EnumMap<>(Prefix.class);
+        for (int i = 0; i < order.size(); i++) {
+            map.put(order.get(i), outputs.get(i));
+        }
+        return ImmutableMap.copyOf(map);
+    }
+
+    /**
+     * Writes the entire processed stylesheet once per variant to the corresponding {@link Appendable}.
+     *
+     * @param appendables
+     *     One {@link Appendable} for each added prefix.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(Map<Prefix, ? extends Appendable> appendables) throws IOException {
+        checkArgument(appendables.keySet().equals(writers.keySet()), "expected one appendable for each of %s", writers.keySet());
+
+        List<Appendable> ordered = new ArrayList<>(order.size());
+        for (Prefix prefix : order) {
+            ordered.add(appendables.get(prefix));
+        }
+        multi.writeTo(ordered);
+    }
+
+    /** skip rules with selectors specific to another prefix, or with declarations that are all specific to other prefixes */
+    private static boolean skip(Rule rule, Prefix keep) {
+        if (PrefixedUnits.mismatched(PrefixedUnits.prefix(rule), keep)) return true;
+        if (rule.declarations().isEmpty()) return false;
+
+        for (Declaration declaration : rule.declarations()) {
+            if (declaration.isWritable() && !PrefixedUnits.mismatched(PrefixedUnits.prefix(declaration), keep)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.collection.Groupable;
+import com.salesforce.omakase.ast.collection.SyntaxCollection;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.util.Equivalents;
+import com.salesforce.omakase.util.Prefixes;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the prefixed declarations within a declaration collection, keyed by unprefixed property name.
+ * <p>
+ * {@link Equivalents#prefixes} walks every sibling of the declaration in question, which makes prefixing a rule quadratic in
+ * its number of declarations. This index is built once for the collection currently being prefixed, so that a lookup only has to
+ * walk as far as the prefixed equivalents actually are (usually right next to the unprefixed declaration), and doesn't walk at
+ * all when there are none.
+ * <p>
+ * Handlers keep the index current by reporting the units they prepend or destroy. If the collection has been modified more
+ * times than what was reported (e.g., another plugin added, removed or replaced a declaration) then the index is rebuilt on the
+ * next lookup. Only one collection is indexed at a time, as declarations are generally visited rule by rule.
+ *
+ * @author nmcwilliams
+ */
+final class PrefixedIndex {
+    private SyntaxCollection<Rule, Declaration> group;
+    private ListMultimap<String, Declaration> prefixed;
+    private int modifications;
+
+    /**
+     * Finds the prefixed declarations in the same collection as the given declaration that have one of the given unprefixed
+     * property names.
+     * <p>
+     * The results are the same, and in the same order, as {@link Equivalents#prefixes} with a walker that locates prefixed
+     * declarations by name.
+     *
+     * @param subject
+     *     The unprefixed declaration.
+     * @param names
+     *     The unprefixed property names to look for.
+     *
+     * @return All found prefixed equivalents, or an empty immutable multimap if none are found.
+     */
+    Multimap<Prefix, Declaration> equivalents(Declaration subject, String... names) {
+        SyntaxCollection<Rule, Declaration> collection = subject.group();
+        if (collection == null) return ImmutableMultimap.of();
+        if (collection != group || collection.modifications() != modifications) {
+            rebuild(collection);
+        }
+
+        // gather the still-valid candidates
+        Set<Declaration> remaining = null;
+        for (String name : names) {
+            Iterator<Declaration> it = prefixed.get(name).iterator();
+            while (it.hasNext()) {
+                Declaration candidate = it.next();
+                if (candidate.group() != collection || !candidate.isPrefixed() || !candidate.isPropertyIgnorePrefix(name)) {
+                    it.remove(); // destroyed, moved or renamed
+                } else if (candidate != subject) {
+                    if (remaining == null) remaining = Sets.newIdentityHashSet(); // perf -- delayed creation
+                    remaining.add(candidate);
+                }
+            }
+        }
+
+        if (remaining == null) return ImmutableMultimap.of();
+
+        // walk outwards only until all candidates are found, collecting the previous ones closest-first, then the next ones
+        List<Declaration> before = new ArrayList<>(remaining.size());
+        List<Declaration> after = new ArrayList<>(remaining.size());
+        Declaration previous = subject.previous().orElse(null);
+        Declaration next = subject.next().orElse(null);
+
+        while (!remaining.isEmpty() && (previous != null || next != null)) {
+            if (previous != null) {
+                if (remaining.remove(previous)) before.add(previous);
+                previous = previous.previous().orElse(null);
+            }
+            if (next != null) {
+                if (remaining.remove(next)) after.add(next);
+                next = next.next().orElse(null);
+            }
+        }
+
+        Multimap<Prefix, Declaration> multimap = LinkedListMultimap.create();
+        for (Declaration declaration : before) {
+            multimap.put(Prefixes.parsePrefix(declaration.name()).get(), declaration);
+        }
+        for (Declaration declaration : after) {
+            multimap.put(Prefixes.parsePrefix(declaration.name()).get(), declaration);
+        }
+        return multimap;
+    }
+
+    /**
+     * Records units prepended to the subject, e.g., by {@link AbstractHandler#copy}.
+     *
+     * @param subject
+     *     The unit that was prepended to.
+     * @param previous
+     *     The unit that was previous to the subject before the prepends, or null if the subject was first.
+     */
+    void prepended(Groupable<?, ?> subject, Groupable<?, ?> previous) {
+        if (group == null || subject.group() != group) return;
+
+        Declaration unit = ((Declaration)subject).previous().orElse(null);
+        while (unit != null && unit != previous) {
+            if (unit.isPrefixed()) {
+                prefixed.put(unit.propertyName().unprefixed(), unit);
+            }
+            modifications++;
+            unit = unit.previous().orElse(null);
+        }
+    }
+
+    /**
+     * Records units destroyed from the subject's collection.
+     *
+     * @param subject
+     *     A unit in the collection.
+     * @param count
+     *     The number of destroyed units.
+     */
+    void destroyed(Groupable<?, ?> subject, int count) {
+        if (group != null && subject.group() == group) {
+            modifications += count; // the destroyed units themselves are dropped from the index lazily
+        }
+    }
+
+    private void rebuild(SyntaxCollection<Rule, Declaration> collection) {
+        group = collection;
+        modifications = collection.modifications();
+        prefixed = ArrayListMultimap.create();
+        for (Declaration declaration : collection) {
+            if (declaration.isPrefixed()) {
+                prefixed.put(declaration.propertyName().unprefixed(), declaration);
+            }
+        }
+    }
+}
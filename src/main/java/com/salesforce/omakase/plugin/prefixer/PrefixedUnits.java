@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.FunctionValue;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.ast.selector.PseudoClassSelector;
+import com.salesforce.omakase.ast.selector.PseudoElementSelector;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.ast.selector.SelectorPart;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.util.Prefixes;
+import com.salesforce.omakase.util.Values;
+
+import java.util.Optional;
+
+/**
+ * Determines which vendor {@link Prefix} a unit is specific to, if any.
+ *
+ * @author nmcwilliams
+ */
+final class PrefixedUnits {
+    private PrefixedUnits() {}
+
+    /**
+     * Gets the prefix of the declaration's property name or, if that isn't prefixed, the prefix of the first prefixed keyword or
+     * function in its value. Values are only checked if the declaration is refined.
+     *
+     * @param declaration
+     *     The declaration.
+     *
+     * @return The prefix, or an empty {@link Optional} if the declaration isn't specific to a prefix.
+     */
+    static Optional<Prefix> prefix(Declaration declaration) {
+        Optional<Prefix> prefix = declaration.propertyName().prefix();
+        if (prefix.isPresent() || !declaration.isRefined()) return prefix;
+
+        for (KeywordValue keyword : Values.filter(KeywordValue.class, declaration.propertyValue())) {
+            if (keyword.keyword().charAt(0) == '-') {
+                prefix = Prefixes.parsePrefix(keyword.keyword());
+                if (prefix.isPresent()) return prefix;
+            }
+        }
+        for (FunctionValue function : Values.filter(FunctionValue.class, declaration.propertyValue())) {
+            if (function.name().charAt(0) == '-') {
+                prefix = Prefixes.parsePrefix(function.name());
+                if (prefix.isPresent()) return prefix;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the prefix of the first prefixed pseudo element or pseudo class selector in the rule. Only refined selectors are
+     * checked.
+     *
+     * @param rule
+     *     The rule.
+     *
+     * @return The prefix, or an empty {@link Optional} if the rule's selectors aren't specific to a prefix.
+     */
+    static Optional<Prefix> prefix(Rule rule) {
+        for (Selector selector : rule.selectors()) {
+            if (!selector.isRefined()) continue;
+            for (SelectorPart part : selector.parts()) {
+                String name = null;
+                if (part instanceof PseudoElementSelector) {
+                    name = ((PseudoElementSelector)part).name();
+                } else if (part instanceof PseudoClassSelector) {
+                    name = ((PseudoClassSelector)part).name();
+                }
+                if (name != null && !name.isEmpty() && name.charAt(0) == '-') {
+                    Optional<Prefix> prefix = Prefixes.parsePrefix(name);
+                    if (prefix.isPresent()) return prefix;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the prefix of the at-rule's name.
+     *
+     * @param atRule
+     *     The at-rule.
+     *
+     * @return The prefix, or an empty {@link Optional} if the at-rule name isn't prefixed.
+     */
+    static Optional<Prefix> prefix(AtRule atRule) {
+        String name = atRule.name();
+        return name != null && !name.isEmpty() && name.charAt(0) == '-' ? Prefixes.parsePrefix(name) : Optional.empty();
+    }
+
+    /** whether the unit's prefix, if it has one, differs from the given one */
+    static boolean mismatched(Optional<Prefix> prefix, Prefix keep) {
+        return prefix.isPresent() && prefix.get() != keep;
+    }
+}
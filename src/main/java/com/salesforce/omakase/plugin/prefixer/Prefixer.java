@@ -33,11 +33,19 @@ import com.salesforce.omakase.ast.declaration.FunctionValue;
 import com.salesforce.omakase.ast.declaration.KeywordValue;
 import com.salesforce.omakase.ast.selector.PseudoElementSelector;
 import com.salesforce.omakase.broadcast.annotation.Rework;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.PrefixTablesUtil;
+import com.salesforce.omakase.data.Property;
 import com.salesforce.omakase.plugin.DependentPlugin;
 import com.salesforce.omakase.plugin.core.AutoRefine;
 import com.salesforce.omakase.plugin.core.StandardValidation;
 import com.salesforce.omakase.util.SupportMatrix;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
 import static com.salesforce.omakase.data.Browser.*;
 
 /**
@@ -144,7 +152,36 @@ public final class Prefixer implements DependentPlugin {
     // function handlers
     private static final Handler<FunctionValue> STANDARD_FUNCTION = new HandleFunction();
 
+    // the handlers that could apply to each property or keyword, in the order they should be run. Units with a property or
+    // keyword not in these maps don't need to be looked at all.
+    private static final Map<Property, Handler<Declaration>[]> PROPERTY_HANDLERS = new EnumMap<>(Property.class);
+    private static final Map<Keyword, Handler<KeywordValue>[]> KEYWORD_HANDLERS = new EnumMap<>(Keyword.class);
+
+    static {
+        index(PROPERTY_HANDLERS, TRANSITION, Property.TRANSITION, Property.TRANSITION_PROPERTY);
+        index(PROPERTY_HANDLERS, FLEX_PROP, Property.FLEX);
+        index(PROPERTY_HANDLERS, FLEX_FLOW, Property.FLEX_FLOW);
+        index(PROPERTY_HANDLERS, FLEX_DIRECTION, Property.FLEX_DIRECTION);
+        index(PROPERTY_HANDLERS, FLEX_ALIGN_ITEMS, Property.ALIGN_ITEMS);
+        index(PROPERTY_HANDLERS, FLEX_JUSTIFY_CONTENT, Property.JUSTIFY_CONTENT);
+        index(PROPERTY_HANDLERS, FLEX_ORDER, Property.ORDER);
+        index(PROPERTY_HANDLERS, FLEX_WRAP, Property.FLEX_WRAP);
+        index(PROPERTY_HANDLERS, FLEX_ALIGN_CONTENT, Property.ALIGN_CONTENT);
+        index(PROPERTY_HANDLERS, FLEX_ALIGN_SELF, Property.ALIGN_SELF);
+        index(PROPERTY_HANDLERS, FLEX_GROW, Property.FLEX_GROW);
+        index(PROPERTY_HANDLERS, FLEX_SHRINK, Property.FLEX_SHRINK);
+        index(PROPERTY_HANDLERS, FLEX_BASIS, Property.FLEX_BASIS);
+        for (Property property : Property.values()) {
+            if (PrefixTablesUtil.isPrefixableProperty(property)) {
+                index(PROPERTY_HANDLERS, STANDARD_PROPERTY, property);
+            }
+        }
+
+        index(KEYWORD_HANDLERS, FLEX, Keyword.FLEX, Keyword.INLINE_FLEX);
+    }
+
     private final SupportMatrix support;
+    private final PrefixedIndex index = new PrefixedIndex();
     private boolean rearrange;
     private boolean prune;
 
@@ -220,6 +257,22 @@ public final class Prefixer implements DependentPlugin {
         }
     }
 
+    /** Adds the given handler to the end of the handlers for each of the given keys. */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static <K, T> void index(Map<K, Handler<T>[]> map, Handler<T> handler, K... keys) {
+        for (K key : keys) {
+            Handler<T>[] existing = map.get(key);
+            if (existing == null) {
+                map.put(key, new Handler[]{handler});
+            } else {
+                Handler<T>[] updated = Arrays.copyOf(existing, existing.length + 1);
+                updated[existing.length] = handler;
+                map.put(key, updated);
+            }
+        }
+    }
+
     /**
      * Run the given list of prefix handlers on the instance in order. If a handler specifies that it is completely processed the
      * prefixes then subsequent handlers will not be run.
@@ -231,11 +284,10 @@ public final class Prefixer implements DependentPlugin {
      * @param <T>
      *     The type of syntax unit.
      */
-    @SafeVarargs
-    private final <T> void run(T instance, Handler<T>... handlers) {
+    private <T> void run(T instance, Handler<T>[] handlers) {
         boolean finished;
         for (Handler<T> handler : handlers) {
-            finished = handler.handle(instance, rearrange, prune, support);
+            finished = handler.handle(instance, rearrange, prune, support, index);
             if (finished) return;
         }
     }
@@ -251,8 +303,17 @@ public final class Prefixer implements DependentPlugin {
         // don't automatically trigger refinement on every declaration just to check if a prefix is needed.
         if (!declaration.isRefined() || declaration.isPrefixed()) return; // skip stuff already prefixed
 
-        run(declaration, TRANSITION, FLEX_PROP, FLEX_FLOW, FLEX_DIRECTION, FLEX_ALIGN_ITEMS, FLEX_JUSTIFY_CONTENT, FLEX_ORDER,
-            FLEX_WRAP, FLEX_ALIGN_CONTENT, FLEX_ALIGN_SELF, FLEX_GROW, FLEX_SHRINK, FLEX_BASIS, STANDARD_PROPERTY);
+        Optional<Property> property = declaration.propertyName().asProperty();
+        if (!property.isPresent()) return;
+
+        Handler<Declaration>[] handlers = PROPERTY_HANDLERS.get(property.get());
+        if (handlers == null) return;
+
+        // unless existing prefixes need to be pruned or rearranged, nothing happens when the property itself doesn't need a
+        // prefix. The transition handlers are the exception as they also prefix the values.
+        if (!prune && !rearrange && handlers[0] != TRANSITION && support.prefixesForProperty(property.get()).isEmpty()) return;
+
+        run(declaration, handlers);
     }
 
     /**
@@ -263,7 +324,7 @@ public final class Prefixer implements DependentPlugin {
      */
     @Rework
     public void function(FunctionValue function) {
-        run(function, STANDARD_FUNCTION);
+        STANDARD_FUNCTION.handle(function, rearrange, prune, support, index);
     }
 
     /**
@@ -274,7 +335,13 @@ public final class Prefixer implements DependentPlugin {
      */
     @Rework
     public void keyword(KeywordValue keyword) {
-        run(keyword, FLEX);
+        Optional<Keyword> kw = keyword.asKeyword();
+        if (!kw.isPresent()) return;
+
+        Handler<KeywordValue>[] handlers = KEYWORD_HANDLERS.get(kw.get());
+        if (handlers != null) {
+            run(keyword, handlers);
+        }
     }
 
     /**
@@ -287,7 +354,7 @@ public final class Prefixer implements DependentPlugin {
     public void atRule(AtRule atRule) {
         // don't automatically trigger refinement on every at rule just to check if a prefix is needed.
         if (!atRule.isRefined() || atRule.name().charAt(0) == '-') return; // skip stuff already prefixed
-        run(atRule, STANDARD_AT_RULE);
+        STANDARD_AT_RULE.handle(atRule, rearrange, prune, support, index);
     }
 
     /**
@@ -299,7 +366,9 @@ public final class Prefixer implements DependentPlugin {
     @Rework
     public void pseudoElementSelector(PseudoElementSelector selector) {
         if (selector.name().charAt(0) == '-') return; // skip stuff already prefixed
-        run(selector, PLACEHOLDER, STANDARD_PSEUDO);
+        if (!PLACEHOLDER.handle(selector, rearrange, prune, support, index)) {
+            STANDARD_PSEUDO.handle(selector, rearrange, prune, support, index);
+        }
     }
 
     /**
@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.util;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
@@ -38,23 +39,34 @@ import com.salesforce.omakase.data.PrefixTablesUtil;
 import com.salesforce.omakase.data.Property;
 import com.salesforce.omakase.plugin.prefixer.Prefixer;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Represents a set of supported browser versions.
+ * <p>
+ * Required prefixes are computed and cached on demand, which is not thread-safe. Once all supported browser versions are
+ * designated, {@link #freeze()} can be used to compute everything up front and make the instance immutable, after which it can be
+ * shared by any number of {@link Prefixer} instances across threads.
  *
  * @author nmcwilliams
  * @see Browser
  * @see Prefixer
  */
 public final class SupportMatrix {
+    /** the set of prefixes for each bitmask of prefix ordinals, shared so that no sets need to be created per lookup */
+    private static final Set<Prefix>[] SETS = sets();
+    private static final Browser[] BROWSERS = Browser.values();
+
     /* using tree so that getting browser versions are in ascending order */
     private final Multimap<Browser, Double> supported = TreeMultimap.create();
 
@@ -64,6 +76,9 @@ public final class SupportMatrix {
     private final Map<String, Set<Prefix>> selectorCache = new HashMap<>(2);
     private final Map<String, Set<Prefix>> functionCache = new HashMap<>(8);
 
+    private volatile Snapshot frozen;
+    private double[] thresholds;
+
     /**
      * Designate support for the given {@link Browser} and version.
      * <p>
@@ -99,8 +114,10 @@ public final class SupportMatrix {
      * @return this, for chaining.
      */
     public SupportMatrix browser(Browser browser, double version) {
+        checkNotFrozen();
         checkArgument(browser.versions().contains(version), "version does not exist for browser");
         supported.put(browser, version);
+        thresholds = null;
         return this;
     }
 
@@ -118,7 +135,9 @@ public final class SupportMatrix {
      * @return this, for chaining.
      */
     public SupportMatrix latest(Browser browser) {
+        checkNotFrozen();
         supported.put(browser, browser.versions().get(0));
+        thresholds = null;
         return this;
     }
 
@@ -138,10 +157,12 @@ public final class SupportMatrix {
      * @return this, for chaining.
      */
     public SupportMatrix last(Browser browser, int numVersions) {
+        checkNotFrozen();
         checkArgument(numVersions <= browser.versions().size(), "numVersions out of range");
         for (int i = 0; i < numVersions; i++) {
             supported.put(browser, browser.versions().get(i));
         }
+        thresholds = null;
         return this;
     }
 
@@ -154,9 +175,11 @@ public final class SupportMatrix {
      * @return this, for chaining.
      */
     public SupportMatrix all(Browser browser) {
+        checkNotFrozen();
         for (Double version : browser.versions()) {
             supported.put(browser, version);
         }
+        thresholds = null;
         return this;
     }
 
@@ -259,20 +282,14 @@ public final class SupportMatrix {
      * @return The set of required prefixes.
      */
     public Set<Prefix> prefixesForProperty(Property property) {
-        Set<Prefix> cached = propertyCache.get(property);
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.property(property);
 
+        Set<Prefix> cached = propertyCache.get(property);
         if (cached == null) {
-            Set<Prefix> required = new HashSet<>();
-
-            for (Browser browser : supported.keySet()) {
-                Double lastPrefixed = PrefixTablesUtil.lastVersionPropertyIsPrefixed(property, browser);
-                if (lowestSupportedVersion(browser) <= lastPrefixed) required.add(browser.prefix());
-            }
-
-            cached = immutable(required);
+            cached = compute(browser -> PrefixTablesUtil.lastVersionPropertyIsPrefixed(property, browser));
             propertyCache.put(property, cached);
         }
-
         return cached;
     }
 
@@ -285,20 +302,14 @@ public final class SupportMatrix {
      * @return The set of required prefixes.
      */
     public Set<Prefix> prefixesForKeyword(Keyword keyword) {
-        Set<Prefix> cached = keywordCache.get(keyword);
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.keyword(keyword);
 
+        Set<Prefix> cached = keywordCache.get(keyword);
         if (cached == null) {
-            Set<Prefix> required = new HashSet<>();
-
-            for (Browser browser : supported.keySet()) {
-                Double lastPrefixed = PrefixTablesUtil.lastVersionKeywordIsPrefixed(keyword, browser);
-                if (lowestSupportedVersion(browser) <= lastPrefixed) required.add(browser.prefix());
-            }
-
-            cached = immutable(required);
+            cached = compute(browser -> PrefixTablesUtil.lastVersionKeywordIsPrefixed(keyword, browser));
             keywordCache.put(keyword, cached);
         }
-
         return cached;
     }
 
@@ -311,20 +322,14 @@ public final class SupportMatrix {
      * @return The set of required prefixes.
      */
     public Set<Prefix> prefixesForAtRule(String name) {
-        Set<Prefix> cached = atRuleCache.get(name);
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.atRule(name);
 
+        Set<Prefix> cached = atRuleCache.get(name);
         if (cached == null) {
-            Set<Prefix> required = new HashSet<>();
-
-            for (Browser browser : supported.keySet()) {
-                Double lastPrefixed = PrefixTablesUtil.lastVersionAtRuleIsPrefixed(name, browser);
-                if (lowestSupportedVersion(browser) <= lastPrefixed) required.add(browser.prefix());
-            }
-
-            cached = immutable(required);
+            cached = compute(browser -> PrefixTablesUtil.lastVersionAtRuleIsPrefixed(name, browser));
             atRuleCache.put(name, cached);
         }
-
         return cached;
     }
 
@@ -337,20 +342,14 @@ public final class SupportMatrix {
      * @return The set of required prefixes.
      */
     public Set<Prefix> prefixesForSelector(String name) {
-        Set<Prefix> cached = selectorCache.get(name);
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.selector(name);
 
+        Set<Prefix> cached = selectorCache.get(name);
         if (cached == null) {
-            Set<Prefix> required = new HashSet<>();
-
-            for (Browser browser : supported.keySet()) {
-                Double lastPrefixed = PrefixTablesUtil.lastVersionSelectorIsPrefixed(name, browser);
-                if (lowestSupportedVersion(browser) <= lastPrefixed) required.add(browser.prefix());
-            }
-
-            cached = immutable(required);
+            cached = compute(browser -> PrefixTablesUtil.lastVersionSelectorIsPrefixed(name, browser));
             selectorCache.put(name, cached);
         }
-
         return cached;
     }
 
@@ -364,20 +363,14 @@ public final class SupportMatrix {
      * @return The set of required prefixes.
      */
     public Set<Prefix> prefixesForFunction(String name) {
-        Set<Prefix> cached = functionCache.get(name);
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.function(name);
 
+        Set<Prefix> cached = functionCache.get(name);
         if (cached == null) {
-            Set<Prefix> required = new HashSet<>();
-
-            for (Browser browser : supported.keySet()) {
-                Double lastPrefixed = PrefixTablesUtil.lastVersionFunctionIsPrefixed(name, browser);
-                if (lowestSupportedVersion(browser) <= lastPrefixed) required.add(browser.prefix());
-            }
-
-            cached = immutable(required);
+            cached = compute(browser -> PrefixTablesUtil.lastVersionFunctionIsPrefixed(name, browser));
             functionCache.put(name, cached);
         }
-
         return cached;
     }
 
@@ -459,19 +452,254 @@ public final class SupportMatrix {
         return PrefixTablesUtil.isPrefixableFunction(function) && prefixesForFunction(function).contains(prefix);
     }
 
+    /**
+     * Gets all prefixable properties that require at least one prefix according to the supported browser versions.
+     *
+     * @return The (immutable) set of properties.
+     */
+    public Set<Property> prefixedProperties() {
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.prefixedProperties;
+
+        Set<Property> set = EnumSet.noneOf(Property.class);
+        for (Property property : PrefixTablesUtil.prefixableProperties()) {
+            if (!prefixesForProperty(property).isEmpty()) set.add(property);
+        }
+        return Sets.immutableEnumSet(set);
+    }
+
+    /**
+     * Gets all prefixable keywords that require at least one prefix according to the supported browser versions.
+     *
+     * @return The (immutable) set of keywords.
+     */
+    public Set<Keyword> prefixedKeywords() {
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.prefixedKeywords;
+
+        Set<Keyword> set = EnumSet.noneOf(Keyword.class);
+        for (Keyword keyword : PrefixTablesUtil.prefixableKeywords()) {
+            if (!prefixesForKeyword(keyword).isEmpty()) set.add(keyword);
+        }
+        return Sets.immutableEnumSet(set);
+    }
+
+    /**
+     * Gets every prefix that is required by anything (properties, keywords, at-rules, selectors or functions) according to the
+     * supported browser versions. This is the set of prefixes that prefixing could possibly add to any stylesheet.
+     * <p>
+     * This is answered without looking at individual items, by comparing the lowest supported version of each browser to the
+     * last version of that browser requiring a prefix for anything.
+     *
+     * @return The set of required prefixes.
+     */
+    public Set<Prefix> requiredPrefixes() {
+        Snapshot snapshot = frozen;
+        if (snapshot != null) return snapshot.requiredPrefixes;
+
+        double[] lowest = thresholds();
+        double[] lastPrefixed = LastPrefixed.ANYTHING;
+
+        int mask = 0;
+        for (Browser browser : BROWSERS) {
+            if (lowest[browser.ordinal()] <= lastPrefixed[browser.ordinal()]) {
+                mask |= 1 << browser.prefix().ordinal();
+            }
+        }
+        return SETS[mask];
+    }
+
+    /**
+     * Gets whether anything at all requires a prefix according to the supported browser versions.
+     * <p>
+     * When this returns false, a {@link Prefixer} using this instance would never add a prefix, so it doesn't need to be
+     * registered at all (unless existing prefixes should be pruned):
+     * <pre><code>
+     * Omakase.Request request = Omakase.source(input);
+     * if (support.requiresPrefixes()) {
+     *     request.use(Prefixer.customBrowserSupport(support));
+     * }
+     * </code></pre>
+     *
+     * @return True if at least one prefix is required for something.
+     */
+    public boolean requiresPrefixes() {
+        return !requiredPrefixes().isEmpty();
+    }
+
     @Override
     public String toString() {
         return As.string(this).fields().toString();
     }
 
-    private static Set<Prefix> immutable(Set<Prefix> required) {
-        switch (required.size()) {
-        case 0:
-            return ImmutableSet.of();
-        case 1:
-            return ImmutableSet.of(required.iterator().next());
-        default:
-            return Sets.newEnumSet(required, Prefix.class); // enum set maintains consistent ordinal-based iteration order
+    /**
+     * Computes all prefix requirements up front and makes this instance immutable. After this, designating additional browser
+     * versions results in an {@link IllegalStateException}, and all methods are safe to use from multiple threads at once (as
+     * long as the instance itself is safely published, e.g., through a final field).
+     * <p>
+     * This is intended for sharing the same browser support across many {@link Prefixer} instances, e.g., one per request:
+     * <pre><code>
+     * static final SupportMatrix SUPPORT = new SupportMatrix().last(Browser.CHROME, 3).latest(Browser.SAFARI).freeze();
+     * ...
+     * Omakase.source(input).use(Prefixer.customBrowserSupport(SUPPORT)).process();
+     * </code></pre>
+     * <p>
+     * Calling this more than once has no additional effect.
+     *
+     * @return this, for chaining.
+     */
+    public SupportMatrix freeze() {
+        if (frozen == null) {
+            frozen = new Snapshot(this);
+        }
+        return this;
+    }
+
+    /**
+     * Gets whether {@link #freeze()} was called.
+     *
+     * @return True if this instance is frozen.
+     */
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    private void checkNotFrozen() {
+        checkState(frozen == null, "cannot designate support on a frozen SupportMatrix");
+    }
+
+    /** Gets the lowest supported version of each browser by ordinal, with infinity for unsupported browsers. */
+    private double[] thresholds() {
+        double[] cached = thresholds;
+        if (cached == null) {
+            cached = new double[BROWSERS.length];
+            Arrays.fill(cached, Double.POSITIVE_INFINITY);
+            for (Browser browser : supported.keySet()) {
+                cached[browser.ordinal()] = lowestSupportedVersion(browser);
+            }
+            thresholds = cached;
+        }
+        return cached;
+    }
+
+    /** Gets the bitmask of prefix ordinals required by the supported browser versions, given each browser's last prefixed version. */
+    private int mask(Function<Browser, Double> lastPrefixed) {
+        double[] lowest = thresholds();
+        int mask = 0;
+        for (Browser browser : supported.keySet()) {
+            if (lowest[browser.ordinal()] <= lastPrefixed.apply(browser)) {
+                mask |= 1 << browser.prefix().ordinal();
+            }
+        }
+        return mask;
+    }
+
+    private Set<Prefix> compute(Function<Browser, Double> lastPrefixed) {
+        return SETS[mask(lastPrefixed)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Prefix>[] sets() {
+        Prefix[] prefixes = Prefix.values();
+        Set<Prefix>[] sets = new Set[1 << prefixes.length];
+        for (int mask = 0; mask < sets.length; mask++) {
+            Set<Prefix> set = EnumSet.noneOf(Prefix.class);
+            for (Prefix prefix : prefixes) {
+                if ((mask & (1 << prefix.ordinal())) != 0) set.add(prefix);
+            }
+            sets[mask] = Sets.immutableEnumSet(set); // maintains consistent ordinal-based iteration order
+        }
+        return sets;
+    }
+
+    /** The last version of each browser (by ordinal) requiring a prefix for anything, or -1 if none. */
+    private static final class LastPrefixed {
+        static final double[] ANYTHING = new double[BROWSERS.length];
+
+        static {
+            Arrays.fill(ANYTHING, -1d);
+            for (Browser browser : BROWSERS) {
+                double max = -1d;
+                for (Property property : PrefixTablesUtil.prefixableProperties()) {
+                    max = Math.max(max, PrefixTablesUtil.lastVersionPropertyIsPrefixed(property, browser));
+                }
+                for (Keyword keyword : PrefixTablesUtil.prefixableKeywords()) {
+                    max = Math.max(max, PrefixTablesUtil.lastVersionKeywordIsPrefixed(keyword, browser));
+                }
+                for (String name : PrefixTablesUtil.prefixableAtRules()) {
+                    max = Math.max(max, PrefixTablesUtil.lastVersionAtRuleIsPrefixed(name, browser));
+                }
+                for (String name : PrefixTablesUtil.prefixableSelectors()) {
+                    max = Math.max(max, PrefixTablesUtil.lastVersionSelectorIsPrefixed(name, browser));
+                }
+                for (String name : PrefixTablesUtil.prefixableFunctions()) {
+                    max = Math.max(max, PrefixTablesUtil.lastVersionFunctionIsPrefixed(name, browser));
+                }
+                ANYTHING[browser.ordinal()] = max;
+            }
+        }
+    }
+
+    /** All prefix requirements of a frozen {@link SupportMatrix}, as bitmasks of prefix ordinals. */
+    private static final class Snapshot {
+        private final byte[] properties = new byte[Property.values().length];
+        private final byte[] keywords = new byte[Keyword.values().length];
+        private final Map<String, Set<Prefix>> atRules;
+        private final Map<String, Set<Prefix>> selectors;
+        private final Map<String, Set<Prefix>> functions;
+        private final Set<Property> prefixedProperties;
+        private final Set<Keyword> prefixedKeywords;
+        private final Set<Prefix> requiredPrefixes;
+
+        Snapshot(SupportMatrix support) {
+            for (Property property : PrefixTablesUtil.prefixableProperties()) {
+                properties[property.ordinal()] = (byte)support.mask(b -> PrefixTablesUtil.lastVersionPropertyIsPrefixed(property, b));
+            }
+            for (Keyword keyword : PrefixTablesUtil.prefixableKeywords()) {
+                keywords[keyword.ordinal()] = (byte)support.mask(b -> PrefixTablesUtil.lastVersionKeywordIsPrefixed(keyword, b));
+            }
+
+            ImmutableMap.Builder<String, Set<Prefix>> builder = ImmutableMap.builder();
+            for (String name : PrefixTablesUtil.prefixableAtRules()) {
+                builder.put(name, support.compute(b -> PrefixTablesUtil.lastVersionAtRuleIsPrefixed(name, b)));
+            }
+            atRules = builder.build();
+
+            builder = ImmutableMap.builder();
+            for (String name : PrefixTablesUtil.prefixableSelectors()) {
+                builder.put(name, support.compute(b -> PrefixTablesUtil.lastVersionSelectorIsPrefixed(name, b)));
+            }
+            selectors = builder.build();
+
+            builder = ImmutableMap.builder();
+            for (String name : PrefixTablesUtil.prefixableFunctions()) {
+                builder.put(name, support.compute(b -> PrefixTablesUtil.lastVersionFunctionIsPrefixed(name, b)));
+            }
+            functions = builder.build();
+
+            prefixedProperties = support.prefixedProperties();
+            prefixedKeywords = support.prefixedKeywords();
+            requiredPrefixes = support.requiredPrefixes();
+        }
+
+        Set<Prefix> property(Property property) {
+            return SETS[properties[property.ordinal()]];
+        }
+
+        Set<Prefix> keyword(Keyword keyword) {
+            return SETS[keywords[keyword.ordinal()]];
+        }
+
+        Set<Prefix> atRule(String name) {
+            return atRules.getOrDefault(name, SETS[0]);
+        }
+
+        Set<Prefix> selector(String name) {
+            return selectors.getOrDefault(name, SETS[0]);
+        }
+
+        Set<Prefix> function(String name) {
+            return functions.getOrDefault(name, SETS[0]);
         }
     }
 }
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Utilities for working with {@link PropertyValue}s and {@link Term}s.
@@ -264,4 +265,45 @@ public final class Values {
 
         return joined;
     }
+
+    /**
+     * Creates a copy of the given {@link PropertyValue}, substituting some of its {@link Term}s in the same pass.
+     * <p>
+     * Each term is passed to the given function. If it returns a new term, that term is used in the copy (along with any comments
+     * from the original term) in place of the original. If it returns null, the original term is copied as usual. Operators are
+     * always copied. The given {@link PropertyValue} is not modified.
+     * <p>
+     * This is useful for making variants of a value, e.g., with prefixed keywords or function names, without first copying the
+     * whole value and then finding and modifying the relevant terms in the copy. Note that terms can only belong to one {@link
+     * PropertyValue}, so the terms that aren't substituted are still copied.
+     * <p>
+     * Example:
+     * <pre><code>
+     * PropertyValue prefixed = Values.rewrite(value, term -&gt; term instanceof KeywordValue &amp;&amp;
+     *     ((KeywordValue)term).keyword().equals("transform") ? KeywordValue.of("-webkit-transform") : null);
+     * </code></pre>
+     *
+     * @param value
+     *     The {@link PropertyValue} to copy.
+     * @param rewriter
+     *     Returns the replacement for a term, or null to copy the term.
+     *
+     * @return The new {@link PropertyValue} instance.
+     */
+    public static PropertyValue rewrite(PropertyValue value, Function<? super Term, ? extends Term> rewriter) {
+        PropertyValue copy = new PropertyValue().important(value.isImportant());
+        copy.comments(value).orphanedComments(value);
+
+        for (PropertyValueMember member : value.members()) {
+            Term rewritten = member instanceof Term ? rewriter.apply((Term)member) : null;
+            if (rewritten != null) {
+                rewritten.comments(member);
+                copy.append(rewritten);
+            } else {
+                copy.append(member.copy());
+            }
+        }
+
+        return copy;
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.util.As;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * The cached, written output of a single top-level statement, kept by the {@link StyleWriter} when {@link
+ * StyleWriter#cacheFragments(boolean)} is enabled.
+ * <p>
+ * The statement and every unit written as part of it reference the same fragment, so that changing any of them (see {@link
+ * Syntax#markChanged()}) discards the cached output. Output is kept separately for each writer configuration, such as the {@link
+ * WriterMode}.
+ * <p>
+ * Statements created by the parser also start out with a fragment referencing the range of the source they were parsed from, shared
+ * with their raw selectors and declarations. Until something changes, {@link StyleWriter#passthrough(boolean)} can copy that range
+ * directly instead of writing each unit.
+ *
+ * @author nmcwilliams
+ */
+public final class Fragment {
+    private static final int[] NO_KEYS = new int[0];
+    private static final String[] NO_OUTPUTS = new String[0];
+
+    private final Syntax owner;
+
+    // almost always only one or two configurations, so a linear scan is fine
+    private int[] keys = NO_KEYS;
+    private String[] outputs = NO_OUTPUTS;
+    private int size;
+
+    // the unchanged source of the statement, if known
+    private CharSequence source;
+    private int start;
+    private int end;
+
+    // whether the output from the current write can be kept
+    private boolean cacheable;
+
+    Fragment(Syntax owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Creates a new {@link Fragment} for a statement parsed from the given range of the source. Be sure to set this on the
+     * statement and any of its units only after they are fully created, and before they are broadcasted.
+     *
+     * @param owner
+     *     The statement.
+     * @param source
+     *     The source that the statement was parsed from.
+     * @param start
+     *     Index of the first character of the statement in the source.
+     * @param end
+     *     Index after the last character of the statement in the source.
+     */
+    public Fragment(Syntax owner, CharSequence source, int start, int end) {
+        checkPositionIndexes(start, end, source.length());
+        this.owner = owner;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Discards all cached output, as well as the source range.
+     */
+    public void invalidate() {
+        source = null;
+        if (size > 0) {
+            Arrays.fill(outputs, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Gets whether any output is cached.
+     *
+     * @return True if there is cached output.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets whether the source range of the statement is known and the statement hasn't changed since it was parsed.
+     *
+     * @return True if the source range is present.
+     */
+    public boolean hasSource() {
+        return source != null;
+    }
+
+    /** Gets the source that the statement was parsed from, or null if it has changed. */
+    CharSequence source() {
+        return source;
+    }
+
+    /** Gets the index of the first character of the statement in the source. */
+    int start() {
+        return start;
+    }
+
+    /** Gets the index after the last character of the statement in the source. */
+    int end() {
+        return end;
+    }
+
+    /** Gets the statement that this fragment belongs to. */
+    Syntax owner() {
+        return owner;
+    }
+
+    /** Gets the cached output for the given configuration key, or null if not cached. */
+    String get(int key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) return outputs[i];
+        }
+        return null;
+    }
+
+    /** Caches the output for the given configuration key. */
+    void put(int key, String output) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size == 0 ? 2 : size * 2);
+            outputs = Arrays.copyOf(outputs, size == 0 ? 2 : size * 2);
+        }
+        keys[size] = key;
+        outputs[size++] = output;
+    }
+
+    /** Starts writing the statement, assuming the output can be kept until told otherwise. */
+    void begin() {
+        cacheable = true;
+    }
+
+    /** Prevents the output from the current write from being kept. */
+    void uncacheable() {
+        cacheable = false;
+    }
+
+    /** Gets whether the output from the current write can be kept. */
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("owner", owner).add("size", size).add("hasSource", source != null).toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.writer;
+
+import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.plugin.DependentPlugin;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import com.salesforce.omakase.util.As;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Writes the processed CSS with several {@link StyleWriter}s at once, for example to produce both verbose and compressed output
+ * from a single {@link com.salesforce.omakase.Omakase} run.
+ * <p>
+ * Only one {@link StyleWriter} can be registered per run, so add the writers to this plugin instead of registering them
+ * directly. Each writer keeps its own configuration ({@link WriterMode}, comment settings, custom writers, etc...).
+ * <p>
+ * This only saves parsing and processing the source more than once. Each writer still writes the whole stylesheet on its own,
+ * one after another, exactly as if it were the only writer (including its {@link StyleWriter#parallelism(int)} setting).
+ * <p>
+ * Example:
+ * <pre><code>
+ * StyleWriter dev = StyleWriter.verbose().writeAllComments(true);
+ * StyleWriter prod = StyleWriter.compressed().writeBangComments(true);
+ * MultiWriter writer = new MultiWriter().add(dev).add(prod);
+ * Omakase.source(input).use(writer).process();
+ * List&lt;String&gt; outputs = writer.write(); // dev output, then prod output
+ * </code></pre>
+ *
+ * @author nmcwilliams
+ */
+public final class MultiWriter implements DependentPlugin {
+    private final List<StyleWriter> writers = new ArrayList<>();
+    private SyntaxTree tree;
+
+    @Override
+    public void dependencies(PluginRegistry registry) {
+        tree = registry.require(SyntaxTree.class);
+        for (StyleWriter writer : writers) {
+            writer.dependencies(registry);
+        }
+    }
+
+    /**
+     * Adds a {@link StyleWriter}. Do not also register the writer as a plugin.
+     *
+     * @param writer
+     *     The writer to add.
+     *
+     * @return this, for chaining.
+     */
+    public MultiWriter add(StyleWriter writer) {
+        checkNotNull(writer, "writer cannot be null");
+        checkState(tree == null, "writers must be added before processing");
+        writers.add(writer);
+        return this;
+    }
+
+    /**
+     * Gets the added writers, in the order they were added.
+     *
+     * @return The writers.
+     */
+    public List<StyleWriter> writers() {
+        return ImmutableList.copyOf(writers);
+    }
+
+    /**
+     * Writes the entire processed stylesheet with each writer.
+     *
+     * @return The CSS output of each writer, in the order the writers were added.
+     */
+    public List<String> write() {
+        List<StringBuilder> builders = new ArrayList<>(writers.size());
+        for (int i = 0; i < writers.size(); i++) {
+            builders.add(new StringBuilder(256));
+        }
+
+        try {
+            writeTo(builders);
+        } catch (IOException e) {
+            throw new AssertionError("Using a StringBuilder shouldn't cause an IOException.", e);
+        }
+
+        ImmutableList.Builder<String> outputs = ImmutableList.builder();
+        for (StringBuilder builder : builders) {
+            outputs.add(builder.toString());
+        }
+        return outputs.build();
+    }
+
+    /**
+     * Writes the entire processed stylesheet with each writer to the corresponding {@link Appendable}.
+     *
+     * @param appendables
+     *     One {@link Appendable} for each writer, in the order the writers were added.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(List<? extends Appendable> appendables) throws IOException {
+        checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
+        checkArgument(appendables.size() == writers.size(), "expected %s appendables, one for each writer", writers.size());
+
+        for (int i = 0; i < writers.size(); i++) {
+            writers.get(i).writeTo(checkNotNull(appendables.get(i), "appendable cannot be null"));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("writers", writers).toString();
+    }
+}
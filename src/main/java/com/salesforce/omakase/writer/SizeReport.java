@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.writer;
+
+import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.util.As;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Records the number of bytes (UTF-8) that each top-level statement, each selector and each dynamically added unit contributes
+ * to the output of a {@link StyleWriter}.
+ * <p>
+ * Sizes are counted while the CSS is being written, in the same pass. Dynamically added units are units without a source position,
+ * for example the prefixed declarations added by {@link com.salesforce.omakase.plugin.prefixer.Prefixer}. Only the outermost such
+ * unit is recorded, e.g., an added rule but not its (also added) declarations.
+ * <p>
+ * Example:
+ * <pre><code>
+ * SizeReport report = new SizeReport();
+ * StyleWriter writer = StyleWriter.compressed().sizeReport(report);
+ * Omakase.source(input).use(new Prefixer()).use(writer).process();
+ * writer.write();
+ * for (SizeReport.Entry entry : report.largest(report.statements(), 10)) {
+ *     ...
+ * }
+ * </code></pre>
+ * <p>
+ * Each full write through the {@link StyleWriter} resets the report, so it always reflects the most recent output.
+ *
+ * @author nmcwilliams
+ */
+public final class SizeReport {
+    private final List<Entry> statements = new ArrayList<>();
+    private final List<Entry> selectors = new ArrayList<>();
+    private final List<Entry> added = new ArrayList<>();
+
+    // bytes written so far, updated by the counting appendable
+    private long position;
+
+    // depth of the added unit currently being written, or 0 if not within one
+    private int addedDepth;
+
+    /**
+     * Gets the total number of bytes written.
+     *
+     * @return The total number of bytes.
+     */
+    public long total() {
+        return position;
+    }
+
+    /**
+     * Gets the sizes of the top-level statements, in the order they were written.
+     *
+     * @return The top-level statement sizes.
+     */
+    public List<Entry> statements() {
+        return ImmutableList.copyOf(statements);
+    }
+
+    /**
+     * Gets the sizes of all written selectors (including those within at-rules), in the order they were written.
+     *
+     * @return The selector sizes.
+     */
+    public List<Entry> selectors() {
+        return ImmutableList.copyOf(selectors);
+    }
+
+    /**
+     * Gets the sizes of all written units that were added dynamically (i.e., that don't have a source position), in the order
+     * they were written.
+     *
+     * @return The added unit sizes.
+     */
+    public List<Entry> added() {
+        return ImmutableList.copyOf(added);
+    }
+
+    /**
+     * Gets the largest of the given entries, largest first.
+     *
+     * @param entries
+     *     The entries, e.g., from {@link #statements()}.
+     * @param limit
+     *     The maximum number of entries to return.
+     *
+     * @return The largest entries.
+     */
+    public List<Entry> largest(List<Entry> entries, int limit) {
+        checkArgument(limit >= 0, "limit cannot be negative");
+        return entries.stream()
+            .sorted(Comparator.comparingLong(Entry::bytes).reversed())
+            .limit(limit)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Gets the total number of bytes of the given entries.
+     *
+     * @param entries
+     *     The entries, e.g., from {@link #added()}.
+     *
+     * @return The total number of bytes.
+     */
+    public long sum(List<Entry> entries) {
+        long sum = 0;
+        for (Entry entry : entries) {
+            sum += entry.bytes;
+        }
+        return sum;
+    }
+
+    /** Wraps the given {@link Appendable} so that the number of bytes written is counted, and clears any existing entries. */
+    Appendable track(Appendable appendable) {
+        statements.clear();
+        selectors.clear();
+        added.clear();
+        position = 0;
+        addedDepth = 0;
+        return new Counter(appendable);
+    }
+
+    /** Called before the given unit at the given depth is written. Returns the current position. */
+    long begin(Syntax syntax, int depth) {
+        if (addedDepth == 0 && depth > 1 && !syntax.hasSourcePosition()) {
+            addedDepth = depth;
+        }
+        return position;
+    }
+
+    /** Called after the given unit at the given depth is written, with the position returned from {@link #begin}. */
+    void end(Syntax syntax, int depth, long start) {
+        int bytes = (int)(position - start);
+        if (depth == 2 && syntax instanceof Statement) {
+            statements.add(new Entry(syntax, bytes));
+        }
+        if (syntax instanceof Selector) {
+            selectors.add(new Entry(syntax, bytes));
+        }
+        if (addedDepth == depth) {
+            added.add(new Entry(syntax, bytes));
+            addedDepth = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this)
+            .add("total", position)
+            .add("statements", statements.size())
+            .add("selectors", selectors.size())
+            .add("added", added.size())
+            .toString();
+    }
+
+    /** The number of bytes written for a single unit. */
+    public static final class Entry {
+        private final Syntax unit;
+        private final int bytes;
+
+        Entry(Syntax unit, int bytes) {
+            this.unit = unit;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Gets the written unit.
+         *
+         * @return The unit.
+         */
+        public Syntax unit() {
+            return unit;
+        }
+
+        /**
+         * Gets the number of bytes (UTF-8) written for the unit, including its comments if written.
+         *
+         * @return The number of bytes.
+         */
+        public int bytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return As.string(this).add("unit", unit).add("bytes", bytes).toString();
+        }
+    }
+
+    /** Passes everything through to the wrapped {@link Appendable}, counting the number of UTF-8 bytes. */
+    private final class Counter implements Appendable {
+        private final Appendable delegate;
+
+        Counter(Appendable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            CharSequence chars = csq == null ? "null" : csq;
+            count(chars, 0, chars.length());
+            delegate.append(chars);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            CharSequence chars = csq == null ? "null" : csq;
+            count(chars, start, end);
+            delegate.append(chars, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            position += bytes(c);
+            delegate.append(c);
+            return this;
+        }
+
+        private void count(CharSequence chars, int start, int end) {
+            for (int i = start; i < end; i++) {
+                position += bytes(chars.charAt(i));
+            }
+        }
+
+        /** Surrogates count as two bytes each, so that a full pair counts as four. */
+        private int bytes(char c) {
+            return c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
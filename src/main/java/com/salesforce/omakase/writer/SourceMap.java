@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import com.salesforce.omakase.util.As;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Builds a <a href="https://sourcemaps.info/spec.html">Source Map v3</a> for the output of a {@link StyleWriter}.
+ * <p>
+ * Mappings are recorded while the CSS is being written, in the same pass, using the {@link com.salesforce.omakase.ast.Syntax#line()}
+ * and {@link com.salesforce.omakase.ast.Syntax#column()} of each written unit. Dynamically created units (units without a source
+ * position) are not mapped.
+ * <p>
+ * Example:
+ * <pre><code>
+ * SourceMap map = new SourceMap("input.css").file("output.css");
+ * StyleWriter writer = StyleWriter.compressed().sourceMap(map);
+ * Omakase.source(input).use(writer).process();
+ * String css = writer.write() + SourceMap.comment("output.css.map");
+ * String json = map.toJson();
+ * </code></pre>
+ * <p>
+ * Each full write through the {@link StyleWriter} resets the mappings, so the map always reflects the most recent output.
+ *
+ * @author nmcwilliams
+ */
+public final class SourceMap {
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private final String source;
+    private String file;
+    private CharSequence sourceContent;
+
+    private final StringBuilder mappings = new StringBuilder(256);
+    private int size;
+
+    // current position in the generated output (0-based), updated by the tracking appendable
+    private int line;
+    private int column;
+
+    // state of the last recorded segment, used for the relative encoding
+    private int lastLine;
+    private int lastColumn = -1;
+    private int lastSourceLine;
+    private int lastSourceColumn;
+
+    /**
+     * Creates a new {@link SourceMap} for the given source.
+     *
+     * @param source
+     *     Name or url of the original source, as it should appear in the "sources" of the map.
+     */
+    public SourceMap(String source) {
+        this.source = checkNotNull(source, "source cannot be null");
+    }
+
+    /**
+     * Gets the name or url of the original source.
+     *
+     * @return The source name.
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Sets the name of the generated file, included as the "file" property of the map.
+     *
+     * @param file
+     *     The generated file name.
+     *
+     * @return this, for chaining.
+     */
+    public SourceMap file(String file) {
+        this.file = file;
+        return this;
+    }
+
+    /**
+     * Includes the given original source content in the map ("sourcesContent"), allowing the original to be viewed without
+     * fetching it separately.
+     *
+     * @param sourceContent
+     *     The original source content.
+     *
+     * @return this, for chaining.
+     */
+    public SourceMap sourceContent(CharSequence sourceContent) {
+        this.sourceContent = sourceContent;
+        return this;
+    }
+
+    /**
+     * Gets the number of mappings recorded during the last write.
+     *
+     * @return The number of mappings.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the VLQ-encoded "mappings" string.
+     *
+     * @return The encoded mappings.
+     */
+    public String mappings() {
+        return mappings.toString();
+    }
+
+    /**
+     * Writes the JSON representation of this source map to the given {@link Appendable}.
+     *
+     * @param appendable
+     *     Write to this {@link Appendable}.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(Appendable appendable) throws IOException {
+        appendable.append("{\"version\":3,");
+        if (file != null) {
+            appendable.append("\"file\":");
+            quote(file, appendable);
+            appendable.append(',');
+        }
+        appendable.append("\"sources\":[");
+        quote(source, appendable);
+        appendable.append("],");
+        if (sourceContent != null) {
+            appendable.append("\"sourcesContent\":[");
+            quote(sourceContent, appendable);
+            appendable.append("],");
+        }
+        appendable.append("\"names\":[],\"mappings\":\"").append(mappings).append("\"}");
+    }
+
+    /**
+     * Gets the JSON representation of this source map.
+     *
+     * @return The JSON source map.
+     */
+    public String toJson() {
+        StringBuilder builder = new StringBuilder(mappings.length() + 128);
+        try {
+            writeTo(builder);
+        } catch (IOException e) {
+            throw new AssertionError("Using a StringBuilder shouldn't cause an IOException.", e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Wraps the given {@link Appendable} so that the current position in the generated output is tracked, and clears any
+     * existing mappings.
+     */
+    Appendable track(Appendable appendable) {
+        mappings.setLength(0);
+        size = 0;
+        line = 0;
+        column = 0;
+        lastLine = 0;
+        lastColumn = -1;
+        lastSourceLine = 0;
+        lastSourceColumn = 0;
+        return new Tracker(appendable);
+    }
+
+    /**
+     * Records a mapping from the current position in the generated output to the given 1-based line and column in the original
+     * source. If a mapping was already recorded at the current output position then this is ignored, so that the outermost unit
+     * starting at a given position wins.
+     */
+    void map(int sourceLine, int sourceColumn) {
+        if (line == lastLine && column == lastColumn) return;
+
+        if (line != lastLine) {
+            for (int i = lastLine; i < line; i++) {
+                mappings.append(';');
+            }
+            lastLine = line;
+            lastColumn = 0;
+        } else if (lastColumn != -1) {
+            mappings.append(',');
+        } else {
+            lastColumn = 0;
+        }
+
+        encode(column - lastColumn);
+        encode(0); // always the single source
+        encode(sourceLine - 1 - lastSourceLine);
+        encode(sourceColumn - 1 - lastSourceColumn);
+
+        lastColumn = column;
+        lastSourceLine = sourceLine - 1;
+        lastSourceColumn = sourceColumn - 1;
+        size++;
+    }
+
+    /** Appends the given value as a base64 VLQ. */
+    private void encode(int value) {
+        int vlq = value < 0 ? ((-value) << 1) | 1 : value << 1;
+        do {
+            int digit = vlq & 31;
+            vlq >>>= 5;
+            if (vlq > 0) digit |= 32;
+            mappings.append(BASE64[digit]);
+        } while (vlq > 0);
+    }
+
+    private static void quote(CharSequence value, Appendable appendable) throws IOException {
+        appendable.append('"');
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                appendable.append("\\\"");
+                break;
+            case '\\':
+                appendable.append("\\\\");
+                break;
+            case '\n':
+                appendable.append("\\n");
+                break;
+            case '\r':
+                appendable.append("\\r");
+                break;
+            case '\t':
+                appendable.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    appendable.append(String.format("\\u%04x", (int)c));
+                } else {
+                    appendable.append(c);
+                }
+            }
+        }
+        appendable.append('"');
+    }
+
+    /**
+     * Gets the comment used to link generated CSS to its source map.
+     *
+     * @param url
+     *     The url of the source map.
+     *
+     * @return The source mapping url comment.
+     */
+    public static String comment(String url) {
+        return "/*# sourceMappingURL=" + url + " */";
+    }
+
+    @Override
+    public String toString() {
+        return As.string(this).add("source", source).add("file", file).add("size", size).toString();
+    }
+
+    /** Passes everything through to the wrapped {@link Appendable}, keeping track of the current line and column. */
+    private final class Tracker implements Appendable {
+        private final Appendable delegate;
+
+        Tracker(Appendable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            CharSequence chars = csq == null ? "null" : csq;
+            advance(chars, 0, chars.length());
+            delegate.append(chars);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            CharSequence chars = csq == null ? "null" : csq;
+            advance(chars, start, end);
+            delegate.append(chars, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+            delegate.append(c);
+            return this;
+        }
+
+        private void advance(CharSequence chars, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (chars.charAt(i) == '\n') {
+                    line++;
+                    column = 0;
+                } else {
+                    column++;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import java.io.IOException;
+
+/**
+ * Copies a range of original CSS source, removing comments and unnecessary whitespace along the way.
+ * <p>
+ * This is a single pass over the characters without any tokenizing beyond strings, escapes, comments and unquoted urls, so it only
+ * removes whitespace where it is never significant: around braces, semicolons and commas, after colons and opening parentheses,
+ * before closing parentheses, and before the colon of a declaration. Other runs of whitespace are collapsed to a single space.
+ * Comments are removed without a trace unless they are next to whitespace or separate two identifier characters. Semicolons
+ * directly before a closing brace are removed. Strings, escapes and unquoted urls are copied as-is.
+ *
+ * @author nmcwilliams
+ */
+final class SourceMinifier {
+    private SourceMinifier() {}
+
+    /**
+     * Copies the given range of the source to the given {@link StyleAppendable}, minified.
+     *
+     * @param source
+     *     The source.
+     * @param start
+     *     Index of the first character to copy.
+     * @param end
+     *     Index after the last character to copy.
+     * @param appendable
+     *     Write to this {@link StyleAppendable}.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    static void write(CharSequence source, int start, int end, StyleAppendable appendable) throws IOException {
+        char last = '{'; // nothing written yet, so any leading whitespace is dropped
+        boolean space = false;
+        boolean comment = false;
+        boolean semicolon = false;
+        int i = start;
+
+        while (i < end) {
+            char c = source.charAt(i);
+
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                space = true;
+                i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < end && source.charAt(i + 1) == '*') {
+                i = endOfComment(source, i + 2, end);
+                comment = true;
+                continue;
+            }
+            if (c == ';') {
+                // written once we know it isn't directly before a closing brace
+                semicolon = true;
+                space = false;
+                comment = false;
+                i++;
+                continue;
+            }
+
+            if (semicolon) {
+                semicolon = false;
+                if (c != '}') {
+                    appendable.append(';');
+                    last = ';';
+                }
+            }
+            if (space) {
+                if (!noSpaceAfter(last) && !noSpaceBefore(c) && !(c == ':' && !isSelector(source, i + 1, end))) {
+                    appendable.append(' ');
+                }
+            } else if (comment && isIdentifier(last) && isIdentifier(c)) {
+                // removing the comment would join the two tokens into one
+                appendable.append("/**/");
+            }
+            space = false;
+            comment = false;
+
+            int next;
+            if (c == '"' || c == '\'') {
+                next = endOfString(source, i + 1, end, c);
+                last = '"';
+            } else if (c == '\\') {
+                next = Math.min(i + 2, end);
+                last = '\\';
+            } else if (isUnquotedUrl(source, i, end)) {
+                next = endOfUrl(source, i + 4, end);
+                last = ')';
+            } else {
+                appendable.append(c);
+                last = c;
+                i++;
+                continue;
+            }
+
+            appendable.append(source, i, next);
+            i = next;
+        }
+
+        if (semicolon) appendable.append(';');
+    }
+
+    private static boolean noSpaceAfter(char c) {
+        return c == '{' || c == '}' || c == ';' || c == ',' || c == ':' || c == '(';
+    }
+
+    private static boolean noSpaceBefore(char c) {
+        return c == '{' || c == '}' || c == ',' || c == ')';
+    }
+
+    private static boolean isIdentifier(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c >= 0x80;
+    }
+
+    /** whether the source from the given index is part of a selector, i.e., an opening brace comes before any ';' or '}' */
+    private static boolean isSelector(CharSequence source, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '{') return true;
+            if (c == ';' || c == '}') return false;
+            if (c == '"' || c == '\'') {
+                i = endOfString(source, i + 1, end, c) - 1;
+            } else if (c == '\\') {
+                i++;
+            } else if (c == '/' && i + 1 < end && source.charAt(i + 1) == '*') {
+                i = endOfComment(source, i + 2, end) - 1;
+            }
+        }
+        return false;
+    }
+
+    private static int endOfComment(CharSequence source, int from, int end) {
+        for (int i = from; i + 1 < end; i++) {
+            if (source.charAt(i) == '*' && source.charAt(i + 1) == '/') return i + 2;
+        }
+        return end;
+    }
+
+    private static int endOfString(CharSequence source, int from, int end, char quote) {
+        for (int i = from; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /** whether the source at the given index starts an url function that isn't followed by a quoted string */
+    private static boolean isUnquotedUrl(CharSequence source, int i, int end) {
+        if (i + 4 > end) return false;
+        if ((source.charAt(i) | 0x20) != 'u' || (source.charAt(i + 1) | 0x20) != 'r' || (source.charAt(i + 2) | 0x20) != 'l'
+            || source.charAt(i + 3) != '(') {
+            return false;
+        }
+        for (int j = i + 4; j < end; j++) {
+            char c = source.charAt(j);
+            if (c == '"' || c == '\'') return false;
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\f') return true;
+        }
+        return true;
+    }
+
+    private static int endOfUrl(CharSequence source, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ')') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+}
@@ -40,6 +40,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class StyleAppendable {
     private static final String INDENT_STRING = "            ";
     private final Appendable appendable;
+    private final SourceMap sourceMap;
+    private final SizeReport sizeReport;
     private int indent = 0;
 
     /** Creates a new {@link StyleAppendable} using a {@link StringBuilder}. Use {@link #toString()} to get the final output. */
@@ -55,6 +57,40 @@ public final class StyleAppendable {
      */
     public StyleAppendable(Appendable appendable) {
         this.appendable = checkNotNull(appendable, "appendable cannot be null");
+        this.sourceMap = null;
+        this.sizeReport = null;
+    }
+
+    /**
+     * Creates a new {@link StyleAppendable} using the given {@link Appendable}, recording mappings into the given {@link
+     * SourceMap} as units are written.
+     *
+     * @param appendable
+     *     Write to this {@link Appendable}.
+     * @param sourceMap
+     *     Record mappings into this {@link SourceMap}.
+     */
+    StyleAppendable(Appendable appendable, SourceMap sourceMap) {
+        this(appendable, checkNotNull(sourceMap, "sourceMap cannot be null"), null);
+    }
+
+    /**
+     * Creates a new {@link StyleAppendable} using the given {@link Appendable}, recording mappings into the given {@link
+     * SourceMap} and sizes into the given {@link SizeReport} as units are written.
+     *
+     * @param appendable
+     *     Write to this {@link Appendable}.
+     * @param sourceMap
+     *     Record mappings into this {@link SourceMap}, or null to not record mappings.
+     * @param sizeReport
+     *     Record sizes into this {@link SizeReport}, or null to not record sizes.
+     */
+    StyleAppendable(Appendable appendable, SourceMap sourceMap, SizeReport sizeReport) {
+        checkNotNull(appendable, "appendable cannot be null");
+        Appendable tracked = sourceMap == null ? appendable : sourceMap.track(appendable);
+        this.sourceMap = sourceMap;
+        this.sizeReport = sizeReport;
+        this.appendable = sizeReport == null ? tracked : sizeReport.track(tracked);
     }
 
     /**
@@ -134,6 +170,26 @@ public final class StyleAppendable {
         return this;
     }
 
+    /**
+     * Appends a subsequence of the specified {@link CharSequence}.
+     *
+     * @param sequence
+     *     The character sequence to append from.
+     * @param start
+     *     Index of the first character to append.
+     * @param end
+     *     Index after the last character to append.
+     *
+     * @return this, for chaining.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public StyleAppendable append(CharSequence sequence, int start, int end) throws IOException {
+        appendable.append(sequence, start, end);
+        return this;
+    }
+
     /**
      * Appends a newline character.
      *
@@ -249,6 +305,24 @@ public final class StyleAppendable {
         return indent;
     }
 
+    /**
+     * Gets the {@link SourceMap} receiving mappings for this output, or null if not mapping.
+     *
+     * @return The {@link SourceMap}, or null.
+     */
+    SourceMap sourceMap() {
+        return sourceMap;
+    }
+
+    /**
+     * Gets the {@link SizeReport} receiving sizes for this output, or null if not recording sizes.
+     *
+     * @return The {@link SizeReport}, or null.
+     */
+    SizeReport sizeReport() {
+        return sizeReport;
+    }
+
     @Override
     public String toString() {
         return appendable.toString();
@@ -26,10 +26,13 @@
 
 package com.salesforce.omakase.writer;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.salesforce.omakase.PluginRegistry;
+import com.salesforce.omakase.ast.AbstractSyntax;
 import com.salesforce.omakase.ast.Comment;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.Stylesheet;
 import com.salesforce.omakase.ast.Syntax;
 import com.salesforce.omakase.plugin.DependentPlugin;
 import com.salesforce.omakase.plugin.Plugin;
@@ -37,10 +40,22 @@ import com.salesforce.omakase.plugin.core.SyntaxTree;
 import com.salesforce.omakase.util.As;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.Collection;
-import java.util.Deque;
-import java.util.Iterator;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -66,8 +81,25 @@ import static com.google.common.base.Preconditions.*;
  * verbose.writeTo(System.out);
  * </code></pre>
  * <pre><code>
+ * StyleWriter compressed = StyleWriter.compressed();
+ * Omakase.source(input).use(compressed).process();
+ * compressed.writeBytesTo(outputStream); // UTF-8, without creating a String
+ * </code></pre>
+ * <pre><code>
+ * StyleWriter compressed = StyleWriter.compressed();
+ * Omakase.source(input).use(compressed).process();
+ * compressed.writeGzipTo(outputStream); // UTF-8 and gzip, compressed while writing
+ * </code></pre>
+ * <pre><code>
  * String classSelector = StyleWriter.inline().writeSingle(new ClassSelector("test"));
  * </code></pre>
+ * <pre><code>
+ * SourceMap map = new SourceMap("input.css");
+ * StyleWriter compressed = StyleWriter.compressed().sourceMap(map);
+ * Omakase.source(input).use(compressed).process();
+ * String css = compressed.write();
+ * String json = map.toJson();
+ * </code></pre>
  * <p>
  * Unless otherwise specified, {@link WriterMode#INLINE} will be used.
  * <p>
@@ -76,15 +108,29 @@ import static com.google.common.base.Preconditions.*;
  * @author nmcwilliams
  */
 public final class StyleWriter implements DependentPlugin {
+    /** minimum number of top-level statements in each chunk written in parallel */
+    private static final int MIN_CHUNK_SIZE = 64;
+
     private WriterMode mode;
     private SyntaxTree tree;
-    private Multimap<Class<? extends Writable>, CustomWriter<?>> overrides;
+    private Map<Class<? extends Writable>, CustomWriter<?>[]> overrides;
+    private SourceMap sourceMap;
+    private SizeReport sizeReport;
+    private boolean cacheFragments;
+    private boolean passthrough;
+    private int parallelism = 1;
+
+    // the fragment of the top-level statement currently being written to the cache, if any
+    private Fragment filling;
 
     private boolean writeAllComments;
     private boolean writeAnnotatedComments;
     private boolean writeBangComments;
 
-    private final Deque<StackEntry> stack = new ArrayDeque<>();
+    // number of units written directly below each depth level, indexed by depth. Tracked with primitives instead of a stack of
+    // objects because this is updated for every single unit written.
+    private int[] children = new int[32];
+    private int depth;
 
     /** Creates a new {@link StyleWriter} instance using {@link WriterMode#INLINE}. */
     public StyleWriter() {
@@ -101,6 +147,18 @@ public final class StyleWriter implements DependentPlugin {
         this.mode = mode;
     }
 
+    /** Creates a new {@link StyleWriter} with the same configuration as the given one, for writing a chunk of statements. */
+    private StyleWriter(StyleWriter parent) {
+        this.mode = parent.mode;
+        this.tree = parent.tree;
+        this.overrides = parent.overrides;
+        this.cacheFragments = parent.cacheFragments;
+        this.passthrough = parent.passthrough;
+        this.writeAllComments = parent.writeAllComments;
+        this.writeAnnotatedComments = parent.writeAnnotatedComments;
+        this.writeBangComments = parent.writeBangComments;
+    }
+
     @Override
     public void dependencies(PluginRegistry registry) {
         tree = registry.require(SyntaxTree.class);
@@ -225,6 +283,151 @@ public final class StyleWriter implements DependentPlugin {
         return writeAllComments || writeBangComments;
     }
 
+    /**
+     * Sets whether the written output of each top-level statement should be cached on the statement itself, per writer
+     * configuration. Subsequent writes of a statement that hasn't changed since (see {@link Syntax#markChanged()}) then copy the
+     * cached output instead of writing the statement again, so that repeatedly writing the same tree, for example in different
+     * {@link WriterMode}s or after small edits, is proportional to the amount that changed.
+     * <p>
+     * Output is not cached while custom writers are added (see {@link #addCustomWriter(Class, CustomWriter)}) or when writing a
+     * {@link SourceMap}, and statements containing units that aren't cacheable (see {@link Syntax#isCacheable()}) are always
+     * written again.
+     *
+     * @param cacheFragments
+     *     Whether to cache the output of top-level statements.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter cacheFragments(boolean cacheFragments) {
+        this.cacheFragments = cacheFragments;
+        return this;
+    }
+
+    /**
+     * Gets whether the output of top-level statements is cached. See {@link #cacheFragments(boolean)}.
+     *
+     * @return True if the output of top-level statements is cached.
+     */
+    public boolean shouldCacheFragments() {
+        return cacheFragments;
+    }
+
+    /**
+     * Sets whether statements that haven't changed since they were parsed should be written by copying their original source
+     * directly, instead of writing each of their units. This only applies to {@link WriterMode#COMPRESSED}, where the source is
+     * minified while being copied (see below), and only when no comments are to be written.
+     * <p>
+     * A statement is unchanged as long as it (and its selectors and declarations) haven't been refined, modified or had comments
+     * added since it was parsed. This makes writing pipelines that leave most of the CSS untouched, for example when only using
+     * conditionals, about as fast as copying the source.
+     * <p>
+     * This must be enabled before processing (on a writer that is registered directly or added to a registered {@link
+     * MultiWriter}), as the parser only records where each statement came from when a writer asks for it.
+     * <p>
+     * Note that the copied output is minified by a simple scanner instead of the parser, so it isn't necessarily identical to the
+     * regular output. All comments are removed and whitespace is removed or collapsed where it isn't significant, for example
+     * {@code .a > .b { color : red ; }} becomes {@code .a > .b{color:red}}.
+     *
+     * @param passthrough
+     *     Whether to copy the source of unchanged statements.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter passthrough(boolean passthrough) {
+        this.passthrough = passthrough;
+        return this;
+    }
+
+    /**
+     * Gets whether unchanged statements are written by copying their original source. See {@link #passthrough(boolean)}.
+     *
+     * @return True if unchanged statements are written by copying their original source.
+     */
+    public boolean shouldPassthrough() {
+        return passthrough;
+    }
+
+    /**
+     * Sets how many threads can be used to write the top-level statements of a large stylesheet. When greater than one, each
+     * write creates a {@link ForkJoinPool} with at most this many threads, which is shut down once the write completes. The
+     * statements are split into chunks that are each written to a separate buffer on that pool, and the buffers are then
+     * appended in order by the calling thread. The output is identical to writing sequentially, including
+     * {@link #isFirstAtCurrentDepth()} for the first statement of each chunk.
+     * <p>
+     * Stylesheets with too few statements to be worth splitting are still written sequentially, as is everything when writing a
+     * {@link SourceMap}. Any {@link CustomWriter}s that are added must be safe to use from multiple threads at once.
+     * <p>
+     * The default is 1 (always sequential).
+     *
+     * @param parallelism
+     *     The number of threads to use, at least 1.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter parallelism(int parallelism) {
+        checkArgument(parallelism > 0, "parallelism must be at least 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Gets the number of threads that can be used to write top-level statements. See {@link #parallelism(int)}.
+     *
+     * @return The number of threads.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the {@link SourceMap} to record mappings into. When set, each call to {@link #write()}, {@link #writeTo(Appendable)},
+     * {@link #writeBytes()} or {@link #writeBytesTo(OutputStream)} resets the map and records a mapping for every written unit that
+     * has a source position, in the same pass as the output itself. {@link #writeSingle(Writable)} does not record mappings.
+     *
+     * @param sourceMap
+     *     The {@link SourceMap}, or null to stop recording mappings.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter sourceMap(SourceMap sourceMap) {
+        this.sourceMap = sourceMap;
+        return this;
+    }
+
+    /**
+     * Gets the {@link SourceMap} that mappings are recorded into, if present.
+     *
+     * @return The {@link SourceMap}, if present.
+     */
+    public Optional<SourceMap> sourceMap() {
+        return Optional.ofNullable(sourceMap);
+    }
+
+    /**
+     * Sets the {@link SizeReport} to record sizes into. When set, each call to {@link #write()}, {@link #writeTo(Appendable)},
+     * {@link #writeBytes()} or {@link #writeBytesTo(OutputStream)} resets the report and records the number of bytes written for
+     * each top-level statement, selector and dynamically added unit, in the same pass as the output itself. Cached fragments,
+     * passthrough and parallel writing are not used while recording sizes.
+     *
+     * @param sizeReport
+     *     The {@link SizeReport}, or null to stop recording sizes.
+     *
+     * @return this, for chaining.
+     */
+    public StyleWriter sizeReport(SizeReport sizeReport) {
+        this.sizeReport = sizeReport;
+        return this;
+    }
+
+    /**
+     * Gets the {@link SizeReport} that sizes are recorded into, if present.
+     *
+     * @return The {@link SizeReport}, if present.
+     */
+    public Optional<SizeReport> sizeReport() {
+        return Optional.ofNullable(sizeReport);
+    }
+
     /**
      * Overrides the writing of a unit with the given {@link CustomWriter} instance. See {@link CustomWriter} for more details on
      * overriding.
@@ -240,9 +443,18 @@ public final class StyleWriter implements DependentPlugin {
      */
     public <T extends Writable> StyleWriter addCustomWriter(Class<T> writable, CustomWriter<T> writer) {
         if (overrides == null) {
-            overrides = ArrayListMultimap.create();
+            overrides = new IdentityHashMap<>();
+        }
+
+        // stored as arrays so that looking up the writers for each unit written doesn't allocate anything
+        CustomWriter<?>[] existing = overrides.get(writable);
+        if (existing == null) {
+            overrides.put(writable, new CustomWriter<?>[]{writer});
+        } else {
+            CustomWriter<?>[] updated = Arrays.copyOf(existing, existing.length + 1);
+            updated[existing.length] = writer;
+            overrides.put(writable, updated);
         }
-        overrides.put(writable, writer);
         return this;
     }
 
@@ -254,13 +466,13 @@ public final class StyleWriter implements DependentPlugin {
     public String write() {
         checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
 
-        StyleAppendable appendable = new StyleAppendable();
+        StringBuilder builder = new StringBuilder(256);
         try {
-            writeInner(tree.stylesheet(), appendable);
+            writeInner(tree.stylesheet(), output(builder));
         } catch (IOException e) {
             throw new AssertionError("Using a StringBuilder shouldn't cause an IOException.", e);
         }
-        return appendable.toString();
+        return builder.toString();
     }
 
     /**
@@ -275,7 +487,284 @@ public final class StyleWriter implements DependentPlugin {
     public void writeTo(Appendable appendable) throws IOException {
         checkNotNull(appendable, "appendable cannot be null");
         checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
-        writeInner(tree.stylesheet(), new StyleAppendable(appendable));
+        writeInner(tree.stylesheet(), output(appendable));
+    }
+
+    /**
+     * Writes the entire processed stylesheet as UTF-8 encoded bytes.
+     * <p>
+     * This encodes directly to bytes as the output is written, without creating an intermediate {@link String}.
+     *
+     * @return The CSS output, encoded as UTF-8.
+     */
+    public byte[] writeBytes() {
+        checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
+
+        Utf8Appendable bytes = new Utf8Appendable();
+        try {
+            writeInner(tree.stylesheet(), output(bytes));
+        } catch (IOException e) {
+            throw new AssertionError("Using an in-memory buffer shouldn't cause an IOException.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the entire processed stylesheet to the given {@link OutputStream}, encoded as UTF-8.
+     * <p>
+     * Output is encoded directly to bytes and written to the stream in chunks as it is produced, so the full output is never held
+     * in memory. The stream is flushed but not closed.
+     *
+     * @param out
+     *     Write the processed CSS source code to this stream.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeBytesTo(OutputStream out) throws IOException {
+        checkNotNull(out, "out cannot be null");
+        checkState(tree != null, "syntax tree not set (did you add this writer plugin before parsing?)");
+
+        Utf8Appendable bytes = new Utf8Appendable(out);
+        writeInner(tree.stylesheet(), output(bytes));
+        bytes.flush();
+    }
+
+    /**
+     * Writes the entire processed stylesheet to the given {@link WritableByteChannel}, encoded as UTF-8. See {@link
+     * #writeBytesTo(OutputStream)}. The channel must be in blocking mode.
+     *
+     * @param channel
+     *     Write the processed CSS source code to this channel.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeBytesTo(WritableByteChannel channel) throws IOException {
+        checkNotNull(channel, "channel cannot be null");
+        writeBytesTo(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Writes the entire processed stylesheet to the given {@link OutputStream}, encoded as UTF-8 and compressed with gzip using
+     * the default compression level. See {@link #writeGzipTo(OutputStream, int)}.
+     *
+     * @param out
+     *     Write the compressed CSS to this stream.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeGzipTo(OutputStream out) throws IOException {
+        writeGzipTo(out, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Writes the entire processed stylesheet to the given {@link OutputStream}, encoded as UTF-8 and compressed with gzip.
+     * <p>
+     * The output is compressed as it is written, so neither the uncompressed CSS nor the compressed result is held in memory in
+     * full. The gzip stream is finished but the given stream is not closed. For other compression formats, pass the compressing
+     * stream to {@link #writeBytesTo(OutputStream)} instead, and finish it afterwards.
+     *
+     * @param out
+     *     Write the compressed CSS to this stream.
+     * @param level
+     *     The compression level, 0-9, or {@link Deflater#DEFAULT_COMPRESSION}.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeGzipTo(OutputStream out, int level) throws IOException {
+        checkNotNull(out, "out cannot be null");
+        checkArgument(level == Deflater.DEFAULT_COMPRESSION || (level >= 0 && level <= 9), "invalid compression level");
+
+        GzipStream gzip = new GzipStream(out, level);
+        try {
+            writeBytesTo(gzip);
+            gzip.finish();
+        } finally {
+            gzip.release();
+        }
+    }
+
+    /** Wraps the target of a full write, recording into the {@link SourceMap} and {@link SizeReport} if set. */
+    private StyleAppendable output(Appendable target) {
+        if (sourceMap == null && sizeReport == null) return new StyleAppendable(target);
+        return new StyleAppendable(target, sourceMap, sizeReport);
+    }
+
+    /** Writes the given top-level statement from its cached output, or writes and caches it if not already cached. */
+    private void writeCached(AbstractSyntax statement, StyleAppendable appendable) throws IOException {
+        // the output of a statement depends on the writer configuration and whether it's the first statement written
+        int key = (mode.ordinal() << 5)
+            | (passthrough ? 16 : 0)
+            | (countAtParentDepth() == 0 ? 8 : 0)
+            | (writeAllComments ? 4 : 0)
+            | (writeAnnotatedComments ? 2 : 0)
+            | (writeBangComments ? 1 : 0);
+
+        Fragment fragment = statement.fragment();
+        if (fragment != null && fragment.owner() == statement) {
+            String cached = fragment.get(key);
+            if (cached != null) {
+                appendable.append(cached);
+                // cached output is only kept for statements that were written, so count it as written at this depth
+                if (depth > 0) children[depth - 1]++;
+                return;
+            }
+        } else {
+            fragment = new Fragment(statement);
+        }
+
+        if (canPassthrough(statement, fragment)) {
+            StringBuilder builder = new StringBuilder(fragment.end() - fragment.start());
+            SourceMinifier.write(fragment.source(), fragment.start(), fragment.end(), new StyleAppendable(builder));
+            String output = builder.toString();
+            fragment.put(key, output);
+            appendable.append(output);
+            if (depth > 0) children[depth - 1]++;
+            return;
+        }
+
+        // write to a separate buffer so that the output of just this statement can be kept
+        StringBuilder builder = new StringBuilder(64);
+        filling = fragment;
+        fragment.begin();
+        try {
+            writeInner(statement, new StyleAppendable(builder));
+        } finally {
+            filling = null;
+        }
+
+        String output = builder.toString();
+        if (fragment.isCacheable()) {
+            fragment.put(key, output);
+        }
+        appendable.append(output);
+    }
+
+    /** Checks if the given statement can be written by copying its original source. */
+    private boolean canPassthrough(AbstractSyntax statement, Fragment fragment) {
+        return passthrough
+            && mode == WriterMode.COMPRESSED
+            && !writeAllComments && !writeAnnotatedComments && !writeBangComments
+            && fragment != null && fragment.owner() == statement && fragment.hasSource()
+            && statement.isWritable();
+    }
+
+    /** Associates a unit written as part of the statement being cached with that statement's fragment. */
+    private void track(Writable writable) {
+        if (writable instanceof Syntax) {
+            if (writable instanceof AbstractSyntax) {
+                ((AbstractSyntax)writable).fragment(filling);
+            }
+
+            // changes to units that aren't written (or can't be tracked) might make them written, so don't keep the output
+            Syntax syntax = (Syntax)writable;
+            if (!(syntax instanceof AbstractSyntax) || !syntax.isCacheable() || !syntax.isWritable()) {
+                filling.uncacheable();
+            }
+        }
+    }
+
+    /** Writes the statements of the given stylesheet in chunks on multiple threads, appending the output of each chunk in order. */
+    private void writeStatements(Stylesheet stylesheet, StyleAppendable appendable) throws IOException {
+        List<Statement> statements = stylesheet.statements().stream().collect(Collectors.toList());
+        int chunks = Math.min(parallelism * 4, statements.size() / MIN_CHUNK_SIZE);
+        if (chunks < 2 || appendable.indentationLevel() != 0) {
+            stylesheet.write(this, appendable);
+            return;
+        }
+
+        // each chunk other than the first is written as if statements were already written before it, which is checked below
+        int chunkSize = (statements.size() + chunks - 1) / chunks;
+        List<List<Statement>> lists = new ArrayList<>(chunks);
+        List<Future<Chunk>> futures = new ArrayList<>(chunks);
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, chunks));
+
+        try {
+            for (int start = 0; start < statements.size(); start += chunkSize) {
+                List<Statement> list = statements.subList(start, Math.min(start + chunkSize, statements.size()));
+                int written = start == 0 ? children[0] : 1;
+                lists.add(list);
+                futures.add(pool.submit(() -> writeChunk(list, written)));
+            }
+
+            int written = children[0];
+            for (int i = 0; i < futures.size(); i++) {
+                Chunk chunk = await(futures.get(i));
+
+                // no statements were actually written before this chunk, so its first written statement must be written again
+                if (i > 0 && written == 0 && chunk.written > 0) {
+                    chunk = writeChunk(lists.get(i), 0);
+                }
+
+                appendable.append(chunk.output);
+                written += chunk.written;
+            }
+            children[0] = written;
+        } finally {
+            for (Future<Chunk> future : futures) {
+                future.cancel(false);
+            }
+            pool.shutdown();
+        }
+    }
+
+    /** Writes the given statements with a separate writer, starting with the given number of statements already written. */
+    private Chunk writeChunk(List<Statement> statements, int written) throws IOException {
+        StyleWriter writer = new StyleWriter(this);
+        writer.incrementDepth();
+        writer.children[0] = written;
+
+        StringBuilder builder = new StringBuilder(statements.size() * 64);
+        StyleAppendable appendable = new StyleAppendable(builder);
+        for (Statement statement : statements) {
+            writer.writeInner(statement, appendable);
+        }
+        return new Chunk(builder, writer.children[0] - written);
+    }
+
+    /** Waits for the given chunk to be written, rethrowing any exception that occurred while writing it. */
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while writing statements in parallel");
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** A gzip stream with a configurable compression level, that releases its deflater without closing the wrapped stream. */
+    private static final class GzipStream extends GZIPOutputStream {
+        GzipStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+
+        void release() {
+            def.end();
+        }
+    }
+
+    /** The output of a chunk of statements, and how many of them were written. */
+    private static final class Chunk {
+        final CharSequence output;
+        final int written;
+
+        Chunk(CharSequence output, int written) {
+            this.output = output;
+            this.written = written;
+        }
+    }
+
+    /** Gets the number of units written at the depth of the unit about to be written. */
+    private int countAtParentDepth() {
+        return depth > 0 ? children[depth - 1] : 0;
     }
 
     /**
@@ -332,22 +821,41 @@ public final class StyleWriter implements DependentPlugin {
      *     If an I/O error occurs.
      */
     public <T extends Writable> void writeInner(T writable, StyleAppendable appendable, boolean useOverrides) throws IOException {
-        incrementDepth();
+        if (filling != null) {
+            track(writable);
+        } else if ((cacheFragments || passthrough) && writable instanceof Statement && writable instanceof AbstractSyntax
+            && overrides == null && appendable.indentationLevel() == 0 && appendable.sourceMap() == null
+            && appendable.sizeReport() == null) {
+            AbstractSyntax statement = (AbstractSyntax)writable;
+            if (cacheFragments) {
+                writeCached(statement, appendable);
+                return;
+            }
+            Fragment fragment = statement.fragment();
+            if (canPassthrough(statement, fragment)) {
+                SourceMinifier.write(fragment.source(), fragment.start(), fragment.end(), appendable);
+                if (depth > 0) children[depth - 1]++;
+                return;
+            }
+        }
 
-        Class<? extends Writable> klass = writable.getClass();
+        incrementDepth();
 
         if (writable.isWritable()) {
             boolean handled = false;
 
-            if (useOverrides && overrides != null && overrides.containsKey(klass)) {
-                Collection<CustomWriter<?>> writers = overrides.get(klass);
-                Iterator<CustomWriter<?>> iterator = writers.iterator();
+            SizeReport report = writable instanceof Syntax ? appendable.sizeReport() : null;
+            long start = report == null ? 0 : report.begin((Syntax)writable, depth);
 
-                while (!handled && iterator.hasNext()) {
-                    // cast is safe as long as the map is guarded by #override
-                    @SuppressWarnings("unchecked")
-                    CustomWriter<T> writer = (CustomWriter<T>)iterator.next();
-                    handled = writer.write(writable, this, appendable);
+            if (useOverrides && overrides != null) {
+                CustomWriter<?>[] writers = overrides.get(writable.getClass());
+                if (writers != null) {
+                    for (int i = 0; !handled && i < writers.length; i++) {
+                        // cast is safe as long as the map is guarded by #addCustomWriter
+                        @SuppressWarnings("unchecked")
+                        CustomWriter<T> writer = (CustomWriter<T>)writers[i];
+                        handled = writer.write(writable, this, appendable);
+                    }
                 }
             }
 
@@ -355,18 +863,35 @@ public final class StyleWriter implements DependentPlugin {
                 if (writable instanceof Syntax) {
                     Syntax syntax = (Syntax)writable;
                     if (!syntax.writesOwnComments()) {
-                        appendComments(syntax.comments(), appendable);
+                        ImmutableList<Comment> comments = syntax.comments();
+                        if (!comments.isEmpty()) appendComments(comments, appendable);
+                    }
+                    SourceMap map = appendable.sourceMap();
+                    if (map != null && syntax.hasSourcePosition()) {
+                        map.map(syntax.line(), syntax.column());
+                    }
+                    if (parallelism > 1 && depth == 1 && syntax instanceof Stylesheet && map == null && report == null
+                        && filling == null) {
+                        writeStatements((Stylesheet)syntax, appendable);
+                    } else {
+                        syntax.write(this, appendable);
                     }
-                    syntax.write(this, appendable);
                     if (!syntax.writesOwnOrphanedComments()) {
-                        appendComments(syntax.orphanedComments(), appendable);
+                        ImmutableList<Comment> orphaned = syntax.orphanedComments();
+                        if (!orphaned.isEmpty()) appendComments(orphaned, appendable);
                     }
                 } else {
                     writable.write(this, appendable);
                 }
 
                 // keep track of how many syntax units written at this depth
-                stack.peek().incrementPeerCountAtDepth();
+                if (depth > 1) {
+                    children[depth - 2]++;
+                }
+            }
+
+            if (report != null) {
+                report.end((Syntax)writable, depth, start);
             }
         }
 
@@ -435,7 +960,10 @@ public final class StyleWriter implements DependentPlugin {
      * @return this, for chaining.
      */
     public StyleWriter incrementDepth() {
-        stack.push(new StackEntry(stack.peek()));
+        if (depth == children.length) {
+            children = Arrays.copyOf(children, depth * 2);
+        }
+        children[depth++] = 0;
         return this;
     }
 
@@ -448,7 +976,8 @@ public final class StyleWriter implements DependentPlugin {
      * @return this, for chaining.
      */
     public StyleWriter decrementDepth() {
-        stack.pop();
+        checkState(depth > 0, "depth cannot be decremented below zero");
+        depth--;
         return this;
     }
 
@@ -459,7 +988,7 @@ public final class StyleWriter implements DependentPlugin {
      * @return The number of peers previously written out at the current depth level.
      */
     public int countAtCurrentDepth() {
-        return stack.isEmpty() ? 0 : stack.peek().numberOfPreviousPeers();
+        return depth > 1 ? children[depth - 2] : 0;
     }
 
     /**
@@ -508,36 +1037,4 @@ public final class StyleWriter implements DependentPlugin {
     public static StyleWriter compressed() {
         return new StyleWriter(WriterMode.COMPRESSED);
     }
-
-    /** used to help keep track of how many inner units are written at a certain depth. */
-    private static final class StackEntry {
-        private final StackEntry parent;
-        private int numChildren;
-
-        public StackEntry(StackEntry parent) {
-            this.parent = parent;
-        }
-
-        /** increment the count of children directly below this depth */
-        public void incrementNumChildren() {
-            numChildren++;
-        }
-
-        /** gets the number of children directly below this depth */
-        public int totalChildren() {
-            return numChildren;
-        }
-
-        /** increment the number of peers at this depth */
-        public void incrementPeerCountAtDepth() {
-            if (this.parent != null) {
-                this.parent.incrementNumChildren();
-            }
-        }
-
-        /** gets the number of peers at this depth */
-        public int numberOfPreviousPeers() {
-            return this.parent != null ? this.parent.totalChildren() : 0;
-        }
-    }
 }
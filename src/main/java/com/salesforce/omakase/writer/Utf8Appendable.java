@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * An {@link Appendable} that encodes everything appended to it directly as UTF-8 bytes.
+ * <p>
+ * This avoids building an intermediate {@link String} when the output is ultimately needed as bytes, e.g., for sending in a
+ * response or writing to a file. ASCII characters, which make up nearly all CSS, are written with a single store each.
+ * <p>
+ * When created without an {@link OutputStream}, bytes accumulate in a growable buffer that can be retrieved with {@link
+ * #toByteArray()} or {@link #toByteBuffer()}, or written elsewhere with {@link #writeTo(OutputStream)} or {@link
+ * #writeTo(WritableByteChannel)}. When created with an {@link OutputStream}, a fixed-size buffer is used and is written to the
+ * stream whenever it fills up. Be sure to call {@link #flush()} when done in that case.
+ * <p>
+ * Unpaired surrogate characters are written as '?', the same as {@link String#getBytes(java.nio.charset.Charset)}.
+ *
+ * @author nmcwilliams
+ */
+public final class Utf8Appendable implements Appendable {
+    private static final int DEFAULT_SIZE = 1024;
+    private static final int STREAMING_SIZE = 8192;
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int count;
+    private long flushed;
+    private char pendingHighSurrogate;
+
+    /** Creates a new {@link Utf8Appendable} that accumulates all bytes in memory. */
+    public Utf8Appendable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a new {@link Utf8Appendable} that accumulates all bytes in memory.
+     *
+     * @param initialSize
+     *     The initial size of the buffer, in bytes.
+     */
+    public Utf8Appendable(int initialSize) {
+        checkArgument(initialSize > 0, "initialSize must be greater than zero");
+        this.out = null;
+        this.buffer = new byte[initialSize];
+    }
+
+    /**
+     * Creates a new {@link Utf8Appendable} that writes bytes to the given {@link OutputStream} as its buffer fills up. Call
+     * {@link #flush()} when finished.
+     *
+     * @param out
+     *     Write the bytes to this stream.
+     */
+    public Utf8Appendable(OutputStream out) {
+        this.out = checkNotNull(out, "out cannot be null");
+        this.buffer = new byte[STREAMING_SIZE];
+    }
+
+    @Override
+    public Utf8Appendable append(char c) throws IOException {
+        if (buffer.length - count < 4) makeRoom();
+        encode(c);
+        return this;
+    }
+
+    @Override
+    public Utf8Appendable append(CharSequence csq) throws IOException {
+        if (csq == null) csq = "null";
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8Appendable append(CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) csq = "null";
+        checkPositionIndexes(start, end, csq.length());
+
+        int i = start;
+        while (i < end) {
+            if (buffer.length - count < 4) makeRoom();
+
+            // ascii fast path, bounded by the remaining room so that no capacity check is needed per character
+            int limit = Math.min(end, i + (buffer.length - count) - 3);
+            if (pendingHighSurrogate == 0) {
+                while (i < limit) {
+                    char c = csq.charAt(i);
+                    if (c >= 0x80) break;
+                    buffer[count++] = (byte)c;
+                    i++;
+                }
+                if (i == end) break;
+                if (buffer.length - count < 4) continue;
+            }
+
+            encode(csq.charAt(i++));
+        }
+        return this;
+    }
+
+    /**
+     * Gets the total number of bytes written so far, including any bytes already written to the {@link OutputStream}.
+     *
+     * @return The number of bytes.
+     */
+    public long size() {
+        return flushed + count;
+    }
+
+    /**
+     * Gets a copy of the buffered bytes. When writing to an {@link OutputStream} this only includes bytes not yet written to the
+     * stream.
+     *
+     * @return The bytes.
+     */
+    public byte[] toByteArray() {
+        finishSurrogate();
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Gets a read-only {@link ByteBuffer} view of the buffered bytes, without copying. The view is only valid until more
+     * content is appended.
+     *
+     * @return The buffer view.
+     */
+    public ByteBuffer toByteBuffer() {
+        finishSurrogate();
+        return ByteBuffer.wrap(buffer, 0, count).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the buffered bytes to the given {@link OutputStream}.
+     *
+     * @param stream
+     *     Write to this stream.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        finishSurrogate();
+        stream.write(buffer, 0, count);
+    }
+
+    /**
+     * Writes the buffered bytes to the given {@link WritableByteChannel}.
+     *
+     * @param channel
+     *     Write to this channel.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        finishSurrogate();
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, count);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Writes any buffered bytes to the {@link OutputStream} given in the constructor and flushes it. Does nothing when there is
+     * no {@link OutputStream}.
+     *
+     * @throws IOException
+     *     If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        if (out == null) return;
+        finishSurrogate();
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        finishSurrogate();
+        return new String(buffer, 0, count, StandardCharsets.UTF_8);
+    }
+
+    /** encodes a single char, assuming there is room for at least 4 more bytes */
+    private void encode(char c) {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                buffer[count++] = (byte)(0xF0 | (cp >> 18));
+                buffer[count++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+                buffer[count++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+                buffer[count++] = (byte)(0x80 | (cp & 0x3F));
+                return;
+            }
+            buffer[count++] = '?'; // still room for the rest, as one char never needs more than 3 bytes on its own
+        }
+
+        if (c < 0x80) {
+            buffer[count++] = (byte)c;
+        } else if (c < 0x800) {
+            buffer[count++] = (byte)(0xC0 | (c >> 6));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte)(0xE0 | (c >> 12));
+            buffer[count++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        }
+    }
+
+    /** writes out a dangling high surrogate, if any, since nothing can complete it anymore */
+    private void finishSurrogate() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            if (count == buffer.length) grow();
+            buffer[count++] = '?';
+        }
+    }
+
+    private void makeRoom() throws IOException {
+        if (out != null) {
+            drain();
+        } else {
+            grow();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, count);
+        flushed += count;
+        count = 0;
+    }
+
+    private void grow() {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + 4));
+    }
+}
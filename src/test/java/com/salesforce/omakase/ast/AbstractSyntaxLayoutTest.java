@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/** Memory layout tests for {@link AbstractSyntax}, using JOL. */
+@SuppressWarnings("JavaDoc")
+public class AbstractSyntaxLayoutTest {
+    private static final String CSS = ".a {color: red; margin: 0 auto}\n" +
+        ".b .c > .d {display: none}\n" +
+        "/* @noflip */ .e {float: left}\n" +
+        "@media (min-width: 800px) {.f {padding: 1px 2px 3px 4px}}";
+
+    // recorded for the CSS above, fully refined, on a JVM with compressed references and a 12 byte object header
+    private static final long BASELINE_BYTES = 4384;
+    private static final long BASELINE_UNITS = 58;
+
+    @Test
+    public void treeFootprintWithinBaseline() {
+        VirtualMachine vm = VM.current();
+        assumeTrue(vm.sizeOfField("java.lang.Object") == 4 && vm.objectHeaderSize() == 12);
+
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(CSS).use(tree).use(new AutoRefine()).process();
+        GraphLayout layout = GraphLayout.parseInstance(tree.stylesheet());
+
+        // only count objects from the ast packages, as the graph also reaches the broadcaster and the parsers
+        long bytes = 0;
+        long units = 0;
+        for (Class<?> klass : layout.getClasses()) {
+            if (klass.getName().startsWith("com.salesforce.omakase.ast.") && !Enum.class.isAssignableFrom(klass)) {
+                bytes += layout.getClassSizes().count(klass);
+            }
+            if (Syntax.class.isAssignableFrom(klass)) {
+                units += layout.getClassCounts().count(klass);
+            }
+        }
+
+        assertThat(units).isEqualTo(BASELINE_UNITS);
+        assertThat(bytes).isLessThanOrEqualTo(BASELINE_BYTES);
+    }
+
+    @Test
+    public void uncommentedUnitsHaveNoMetadata() {
+        Stylesheet stylesheet = parse(".a {color: red; margin: 0 auto}\n.b .c > .d {display: none}");
+
+        long metadata = GraphLayout.parseInstance(stylesheet).getClasses().stream()
+            .filter(c -> c.getName().endsWith("AbstractSyntax$Metadata"))
+            .count();
+        assertThat(metadata).isEqualTo(0);
+    }
+
+    @Test
+    public void commentsNotCopiedOnRead() {
+        Stylesheet stylesheet = parse(CSS);
+        Rule rule = (Rule)stylesheet.statements().last().get().previous().get();
+        Selector selector = rule.selectors().first().get();
+
+        assertThat(selector.comments()).hasSize(1);
+        assertThat(selector.comments()).isSameAs(selector.comments());
+    }
+
+    @Test
+    public void copiedUnitSharesComments() {
+        Stylesheet stylesheet = parse(CSS);
+        Rule rule = (Rule)stylesheet.statements().last().get().previous().get();
+        Selector selector = rule.selectors().first().get();
+
+        Selector copy = selector.copy();
+        assertThat(copy.comments()).hasSize(1);
+        assertThat(copy.comments()).isSameAs(selector.comments());
+    }
+
+    private static Stylesheet parse(String css) {
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(css).use(tree).process();
+        return tree.stylesheet();
+    }
+}
@@ -35,6 +35,13 @@ import com.salesforce.omakase.writer.StyleWriter;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
@@ -329,6 +336,39 @@ public class AbstractSyntaxTest {
         assertThat(t.annotations()).hasSize(1);
     }
 
+    @Test
+    public void hasAnnotationsFalseWhenNoComments() {
+        assertThat(new TestSyntax().hasAnnotations()).isFalse();
+    }
+
+    @Test
+    public void hasAnnotationsFalseWhenOnlyPlainComments() {
+        TestSyntax t = new TestSyntax();
+        t.comment("just a comment");
+        assertThat(t.hasAnnotations()).isFalse();
+        assertThat(t.annotations()).isEmpty();
+    }
+
+    @Test
+    public void hasAnnotationsTrue() {
+        TestSyntax t = new TestSyntax();
+        t.comment("just a comment");
+        t.comment("@test");
+        assertThat(t.hasAnnotations()).isTrue();
+    }
+
+    @Test
+    public void annotationsReflectCopiedComments() {
+        TestSyntax t1 = new TestSyntax();
+        t1.comment("@one");
+        TestSyntax t2 = new TestSyntax();
+        t2.comment("@two");
+        t2.comments(t1);
+        assertThat(t2.hasAnnotation("one")).isTrue();
+        assertThat(t2.hasAnnotation("two")).isTrue();
+        assertThat(t2.annotations()).hasSize(2);
+    }
+
     @Test
     public void hasId() {
         TestSyntax t1 = new TestSyntax();
@@ -336,6 +376,34 @@ public class AbstractSyntaxTest {
         assertThat(t1.id()).isNotEqualTo(t2.id());
     }
 
+    @Test
+    public void idsUniqueAcrossThreads() throws Exception {
+        int threads = 4;
+        int perThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                int[] ids = new int[perThread];
+                for (int j = 0; j < perThread; j++) {
+                    ids[j] = new TestSyntax().id();
+                }
+                return ids;
+            }));
+        }
+
+        Set<Integer> all = new HashSet<>();
+        for (Future<int[]> future : futures) {
+            for (int id : future.get()) {
+                all.add(id);
+            }
+        }
+        executor.shutdown();
+
+        assertThat(all).hasSize(threads * perThread);
+    }
+
     public static final class TestSyntax extends AbstractSyntax {
         private String name;
 
@@ -105,6 +105,18 @@ public class RuleTest {
         assertThat(rule.hasAnnotation("test")).isTrue();
     }
 
+    @Test
+    public void hasAnnotationsFromSelector() {
+        Rule rule = new Rule();
+        assertThat(rule.hasAnnotations()).isFalse();
+
+        Selector sel = new Selector(new ClassSelector("name"));
+        sel.comment("@test");
+        rule.selectors().append(sel);
+
+        assertThat(rule.hasAnnotations()).isTrue();
+    }
+
     @Test
     public void hasAnnotationByNameTrueNoSelectorsPresent() {
         Rule rule = new Rule();
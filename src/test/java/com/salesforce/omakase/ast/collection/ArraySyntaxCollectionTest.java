@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/** Unit tests for {@link ArraySyntaxCollection}. */
+@SuppressWarnings("JavaDoc")
+public class ArraySyntaxCollectionTest extends AbstractSyntaxCollectionTest {
+    @Override
+    protected <P, T extends Groupable<P, T>> SyntaxCollection<P, T> create(P parent) {
+        return new ArraySyntaxCollection<>(parent);
+    }
+
+    @Test
+    public void appendAlreadyInGroupLarge() {
+        for (int i = 0; i < 100; i++) {
+            collection.append(new Child(i));
+        }
+        collection.append(child1);
+        collection.append(child2);
+        collection.append(child3);
+
+        collection.append(child3);
+        assertThat(collection).hasSize(103);
+        assertThat(child3.previous().get()).isSameAs(child2);
+        assertThat(child3.next().isPresent()).isFalse();
+    }
+
+    @Test
+    public void prependBeforeAlreadyInGroupLarge() {
+        for (int i = 0; i < 100; i++) {
+            collection.append(new Child(i));
+        }
+        collection.append(child1);
+        collection.append(child2);
+        collection.append(child3);
+
+        collection.prependBefore(child2, child3);
+        assertThat(child3.previous().get()).isSameAs(child1);
+        assertThat(child3.next().get()).isSameAs(child2);
+        assertThat(child2.next().isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.ast.collection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/** Unit tests for {@link IntObjectMap}. */
+@SuppressWarnings("JavaDoc")
+public class IntObjectMapTest {
+    @Test
+    public void emptyByDefault() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.size()).isEqualTo(0);
+        assertThat(map.get(1)).isNull();
+        assertThat(map.containsKey(1)).isFalse();
+    }
+
+    @Test
+    public void removeAndClearBeforeFirstPut() {
+        IntObjectMap<String> map = new IntObjectMap<>(100);
+        assertThat(map.remove(1)).isNull();
+        map.clear();
+        map.put(1, "a");
+        assertThat(map.get(1)).isEqualTo("a");
+    }
+
+    @Test
+    public void usableAfterRemovingEverything() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+        map.remove(1);
+        assertThat(map.get(1)).isNull();
+        map.put(2, "b");
+        assertThat(map.get(2)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void putAndGet() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThat(map.put(1, "a")).isNull();
+        assertThat(map.put(2, "b")).isNull();
+        assertThat(map.get(1)).isEqualTo("a");
+        assertThat(map.get(2)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void putReplacesExisting() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+        assertThat(map.put(1, "b")).isEqualTo("a");
+        assertThat(map.get(1)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void zeroAndNegativeKeys() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0, "zero");
+        map.put(-5, "negative");
+        assertThat(map.get(0)).isEqualTo("zero");
+        assertThat(map.get(-5)).isEqualTo("negative");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValueNotAllowed() {
+        new IntObjectMap<String>().put(1, null);
+    }
+
+    @Test
+    public void remove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        assertThat(map.remove(1)).isEqualTo("a");
+        assertThat(map.remove(1)).isNull();
+        assertThat(map.containsKey(1)).isFalse();
+        assertThat(map.get(2)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1)).isNull();
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(2);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertThat(map.size()).isEqualTo(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(map.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void matchesHashMapWithRandomOperations() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(512);
+            if (random.nextBoolean()) {
+                assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+            } else {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        for (int key = 0; key < 512; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+}
@@ -33,6 +33,11 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
@@ -103,6 +108,66 @@ public class NumericalValueTest {
         assertThat(numerical.doubleValue()).isEqualTo(0.5);
     }
 
+    @Test
+    public void setValueFromDoubleSmallNoExponent() {
+        numerical = new NumericalValue(5);
+        numerical.value(0.0000125);
+        assertThat(numerical.value()).isEqualTo("0.0000125");
+    }
+
+    @Test
+    public void setValueFromDoubleLargeNoExponent() {
+        numerical = new NumericalValue(5);
+        numerical.value(1.5e20);
+        assertThat(numerical.value()).isEqualTo("150000000000000000000");
+        numerical.value(123456789.5);
+        assertThat(numerical.value()).isEqualTo("123456789.5");
+    }
+
+    @Test
+    public void setValueFromDoubleIntegral() {
+        numerical = new NumericalValue(5);
+        numerical.value(42.0);
+        assertThat(numerical.value()).isEqualTo("42");
+        numerical.value(-0.0);
+        assertThat(numerical.value()).isEqualTo("0");
+        assertThat(numerical.explicitSign().isPresent()).isFalse();
+    }
+
+    @Test
+    public void setValueFromDoubleIgnoresLocale() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            numerical = new NumericalValue(5);
+            numerical.value(1.25);
+            assertThat(numerical.value()).isEqualTo("1.25");
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void setValueFromDoubleSameDigitsAsDecimalFormat() {
+        // the digits are the same as the DecimalFormat previously used here, even where they aren't the shortest (e.g., 1e23)
+        DecimalFormat fmt = new DecimalFormat("#", DecimalFormatSymbols.getInstance(Locale.US));
+        fmt.setMaximumIntegerDigits(309);
+        fmt.setMinimumIntegerDigits(1);
+        fmt.setMaximumFractionDigits(340);
+
+        List<Double> values = Lists.newArrayList(1e23, 2e-3, 1e-3, 0.1 + 0.2, 1.0 / 3, 5e-324, Double.MAX_VALUE, 1e15, 123e14);
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            values.add(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+        }
+
+        numerical = new NumericalValue(5);
+        for (double value : values) {
+            numerical.value(value);
+            assertThat(numerical.value()).as(Double.toString(value)).isEqualTo(fmt.format(value));
+        }
+    }
+
     @Test
     public void setValueFromDoubleManyLeadingZero() {
         numerical = new NumericalValue(5);
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.data;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link VersionTable}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class VersionTableTest {
+    @Test
+    public void decodesEnumRows() {
+        VersionTable<Property> table = VersionTable.decode(Property.class,
+            "BORDER_RADIUS CHROME=4.0 FIREFOX=3.6;" +
+            "ORDER IE=10.0;");
+
+        assertThat(table.keys()).containsOnly(Property.BORDER_RADIUS, Property.ORDER);
+        assertThat(table.get(Property.BORDER_RADIUS, Browser.CHROME)).isEqualTo(4.0);
+        assertThat(table.get(Property.BORDER_RADIUS, Browser.FIREFOX)).isEqualTo(3.6);
+        assertThat(table.get(Property.ORDER, Browser.IE)).isEqualTo(10.0);
+    }
+
+    @Test
+    public void decodesNameRows() {
+        VersionTable<String> table = VersionTable.decode("calc CHROME=25.0 IOS_SAFARI=6.1;keyframes OPERA=29.0;");
+
+        assertThat(table.keys()).containsExactly("calc", "keyframes");
+        assertThat(table.get("calc", Browser.IOS_SAFARI)).isEqualTo(6.1);
+        assertThat(table.get("keyframes", Browser.OPERA)).isEqualTo(29.0);
+    }
+
+    @Test
+    public void missingBrowserIsNegative() {
+        VersionTable<String> table = VersionTable.decode("calc CHROME=25.0;");
+        assertThat(table.get("calc", Browser.SAFARI)).isEqualTo(-1);
+    }
+
+    @Test
+    public void missingRow() {
+        VersionTable<String> table = VersionTable.decode("calc CHROME=25.0;");
+        assertThat(table.contains("blah")).isFalse();
+        assertThat(table.get("blah", Browser.CHROME)).isEqualTo(-1);
+    }
+
+    @Test
+    public void rowWithNoBrowsers() {
+        VersionTable<String> table = VersionTable.decode("calc;");
+        assertThat(table.contains("calc")).isTrue();
+        assertThat(table.get("calc", Browser.CHROME)).isEqualTo(-1);
+    }
+
+    @Test
+    public void empty() {
+        assertThat(VersionTable.decode(Keyword.class, "").keys()).isEmpty();
+        assertThat(VersionTable.decode("").keys()).isEmpty();
+    }
+
+    @Test
+    public void decodesGeneratedTables() {
+        assertThat(VersionTable.decode(Property.class, PrefixTables.PROPERTIES).keys()).isNotEmpty();
+        assertThat(VersionTable.decode(Keyword.class, PrefixTables.KEYWORDS).keys()).isNotEmpty();
+        assertThat(VersionTable.decode(PrefixTables.AT_RULES).keys()).isNotEmpty();
+        assertThat(VersionTable.decode(PrefixTables.SELECTORS).keys()).isNotEmpty();
+        assertThat(VersionTable.decode(PrefixTables.FUNCTIONS).keys()).isNotEmpty();
+    }
+}
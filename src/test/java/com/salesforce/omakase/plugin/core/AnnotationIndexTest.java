@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.core;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.broadcast.annotation.Rework;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.Plugin;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/** Unit tests for {@link AnnotationIndex}. */
+@SuppressWarnings("JavaDoc")
+public class AnnotationIndexTest {
+    private static final String SRC = ".a {color: red; /* @noflip */ float: left}\n" +
+        "/* @browser ie7 */ .b {margin: 0}\n" +
+        ".c {/* @noflip */ padding-left: 1px; /* just a comment */ float: right}";
+
+    @Test
+    public void findsAnnotatedDeclarations() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SRC).use(index).process();
+
+        List<Declaration> declarations = index.annotated("noflip", Declaration.class);
+        assertThat(declarations).hasSize(2);
+        assertThat(declarations.get(0).isProperty(Property.FLOAT)).isTrue();
+        assertThat(declarations.get(1).isProperty(Property.PADDING_LEFT)).isTrue();
+    }
+
+    @Test
+    public void findsAnnotatedSelectorAndRule() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SRC).use(index).process();
+
+        List<Syntax> units = index.annotated("browser");
+        assertThat(units).hasSize(2);
+        assertThat(index.annotated("browser", Selector.class)).hasSize(1);
+        assertThat(index.annotated("browser", Rule.class)).hasSize(1);
+    }
+
+    @Test
+    public void unknownAnnotation() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SRC).use(index).process();
+
+        assertThat(index.annotated("nope")).isEmpty();
+        assertThat(index.contains("nope")).isFalse();
+        assertThat(index.contains("noflip")).isTrue();
+    }
+
+    @Test
+    public void excludesDestroyedUnits() {
+        AnnotationIndex index = new AnnotationIndex();
+        Omakase.source(SRC).use(index).use(new Destroyer()).process();
+
+        List<Declaration> declarations = index.annotated("noflip", Declaration.class);
+        assertThat(declarations).hasSize(1);
+        assertThat(declarations.get(0).isProperty(Property.PADDING_LEFT)).isTrue();
+    }
+
+    public static final class Destroyer implements Plugin {
+        @Rework
+        public void declaration(Declaration declaration) {
+            if (declaration.isProperty(Property.FLOAT) && declaration.hasAnnotation("noflip")) {
+                declaration.destroy();
+            }
+        }
+    }
+}
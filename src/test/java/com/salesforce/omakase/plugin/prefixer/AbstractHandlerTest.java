@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.ast.Status;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.ast.declaration.PropertyValue;
+import com.salesforce.omakase.data.Property;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AbstractHandler}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class AbstractHandlerTest {
+    @Test
+    public void copyWithValueUsesGivenValue() {
+        Declaration original = new Declaration(Property.TRANSITION, KeywordValue.of("none"));
+        PropertyValue value = PropertyValue.of(KeywordValue.of("all"));
+        Declaration copy = AbstractHandler.copy(original, value);
+        assertThat(copy.propertyValue()).isSameAs(value);
+        assertThat(copy.propertyName()).isNotSameAs(original.propertyName());
+        assertThat(copy.isProperty(Property.TRANSITION)).isTrue();
+    }
+
+    @Test
+    public void copyWithValueKeepsCommentsAndOrphanedComments() {
+        Declaration original = new Declaration(Property.TRANSITION, KeywordValue.of("none"));
+        original.comments(ImmutableList.of("a"));
+        original.orphanedComments(ImmutableList.of("b"));
+
+        Declaration copy = AbstractHandler.copy(original, PropertyValue.of(KeywordValue.of("all")));
+        assertThat(copy.comments()).hasSize(1);
+        assertThat(copy.comments().get(0).content()).isEqualTo("a");
+        assertThat(copy.orphanedComments()).hasSize(1);
+        assertThat(copy.orphanedComments().get(0).content()).isEqualTo("b");
+    }
+
+    @Test
+    public void copyWithValueKeepsRawStatus() {
+        Declaration original = new Declaration(Property.TRANSITION, KeywordValue.of("none"));
+        original.status(Status.RAW);
+        assertThat(AbstractHandler.copy(original, PropertyValue.of(KeywordValue.of("all"))).status()).isEqualTo(Status.RAW);
+
+        Declaration processed = new Declaration(Property.TRANSITION, KeywordValue.of("none"));
+        processed.status(Status.PROCESSED);
+        assertThat(AbstractHandler.copy(processed, PropertyValue.of(KeywordValue.of("all"))).status())
+            .isEqualTo(new Declaration(Property.TRANSITION, KeywordValue.of("all")).status());
+    }
+}
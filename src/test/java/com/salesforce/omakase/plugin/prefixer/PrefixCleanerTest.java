@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.plugin.prefixer;
 
+import com.salesforce.omakase.Omakase;
 import com.salesforce.omakase.ast.RawSyntax;
 import com.salesforce.omakase.ast.atrule.AtRule;
 import com.salesforce.omakase.ast.atrule.AtRuleBlock;
@@ -33,10 +34,14 @@ import com.salesforce.omakase.ast.atrule.AtRuleExpression;
 import com.salesforce.omakase.ast.declaration.Declaration;
 import com.salesforce.omakase.broadcast.Broadcaster;
 import com.salesforce.omakase.broadcast.ConsumingBroadcaster;
+import com.salesforce.omakase.data.Browser;
 import com.salesforce.omakase.data.Prefix;
 import com.salesforce.omakase.parser.Grammar;
+import com.salesforce.omakase.plugin.core.AutoRefine;
 import com.salesforce.omakase.plugin.syntax.KeyframesPlugin;
 import com.salesforce.omakase.util.Declarations;
+import com.salesforce.omakase.util.SupportMatrix;
+import com.salesforce.omakase.writer.StyleWriter;
 import org.junit.Test;
 
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -72,4 +77,72 @@ public class PrefixCleanerTest {
             }
         }
     }
+
+    private String process(String input, PrefixCleaner cleaner) {
+        StyleWriter writer = StyleWriter.inline();
+        Omakase.source(input).use(AutoRefine.everything()).use(cleaner).use(writer).process();
+        return writer.write();
+    }
+
+    @Test
+    public void keepRemovesOtherPrefixedDeclarations() {
+        String result = process(".a {-webkit-border-radius: 2px; -moz-border-radius: 2px; border-radius: 2px}",
+            PrefixCleaner.onlyKeep(Prefix.WEBKIT));
+        assertThat(result).isEqualTo(".a {-webkit-border-radius:2px; border-radius:2px}");
+    }
+
+    @Test
+    public void keepRemovesOtherPrefixedValues() {
+        String result = process(".a {width: -webkit-calc(100% - 2px); width: -moz-calc(100% - 2px); display: -ms-flexbox}",
+            PrefixCleaner.onlyKeep(Prefix.MOZ));
+        assertThat(result).isEqualTo(".a {width:-moz-calc(100% - 2px)}");
+    }
+
+    @Test
+    public void keepRemovesOtherPrefixedSelectors() {
+        String result = process("::-moz-selection {color: red}\n::-webkit-scrollbar {width: 0}\n::selection {color: red}",
+            PrefixCleaner.onlyKeep(Prefix.WEBKIT));
+        assertThat(result).isEqualTo("::-webkit-scrollbar {width:0}\n::selection {color:red}");
+    }
+
+    @Test
+    public void keepRemovesOtherPrefixedAtRules() {
+        String result = process("@-moz-keyframes a {from {top: 0} to {top: 1px}}\n@-webkit-keyframes a {from {top: 0} to {top: 1px}}",
+            PrefixCleaner.onlyKeep(Prefix.WEBKIT));
+        assertThat(result).startsWith("@-webkit-keyframes a").doesNotContain("-moz-");
+    }
+
+    @Test
+    public void keepMultiplePrefixes() {
+        String result = process(".a {-webkit-box-sizing: border-box; -moz-box-sizing: border-box; -ms-box-sizing: border-box}",
+            new PrefixCleaner().keep(Prefix.WEBKIT).keep(Prefix.MOZ));
+        assertThat(result).isEqualTo(".a {-webkit-box-sizing:border-box; -moz-box-sizing:border-box}");
+    }
+
+    @Test
+    public void removeAllPrefixed() {
+        String result = process(".a {-webkit-transition: all 1s; transition: all 1s}\n@-webkit-keyframes a {from {top: 0}}\n" +
+            "@media screen {.b {-moz-appearance: none; color: red}}", PrefixCleaner.removeAllPrefixed());
+        assertThat(result).isEqualTo(".a {transition:all 1s}\n@media screen {\n  .b {color:red}\n}");
+    }
+
+    @Test
+    public void keepWithPrefixedAtRules() {
+        String result = process("@-webkit-keyframes a {from {-webkit-transform: none; -moz-transform: none; transform: none}}",
+            new PrefixCleaner().keep(Prefix.WEBKIT).keep(Prefix.MOZ).prefixedAtRules());
+        assertThat(result).isEqualTo("@-webkit-keyframes a {\n  from {-webkit-transform:none; transform:none}\n}");
+    }
+
+    @Test
+    public void keepRemovesUnitsAddedByPrefixer() {
+        SupportMatrix support = new SupportMatrix().browser(Browser.CHROME, 20).browser(Browser.FIREFOX, 15);
+        StyleWriter writer = StyleWriter.inline();
+        Omakase.source(".a {transition: all 1s}")
+            .use(AutoRefine.everything())
+            .use(Prefixer.customBrowserSupport(support))
+            .use(PrefixCleaner.onlyKeep(Prefix.MOZ))
+            .use(writer)
+            .process();
+        assertThat(writer.write()).isEqualTo(".a {-moz-transition:all 1s; transition:all 1s}");
+    }
 }
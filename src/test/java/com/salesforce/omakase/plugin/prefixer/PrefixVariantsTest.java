@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.data.Browser;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.util.SupportMatrix;
+import com.salesforce.omakase.writer.StyleWriter;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PrefixVariants}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class PrefixVariantsTest {
+    private static final SupportMatrix SUPPORT = new SupportMatrix()
+        .browser(Browser.CHROME, 20)
+        .browser(Browser.SAFARI, 6)
+        .browser(Browser.FIREFOX, 15);
+
+    private Map<Prefix, String> process(String input) {
+        PrefixVariants variants = new PrefixVariants()
+            .add(Prefix.WEBKIT, StyleWriter.inline())
+            .add(Prefix.MOZ, StyleWriter.inline());
+        Omakase.source(input)
+            .use(AutoRefine.everything())
+            .use(Prefixer.customBrowserSupport(SUPPORT).rearrange(true))
+            .use(variants)
+            .process();
+        return variants.write();
+    }
+
+    private String process(String input, SupportMatrix support) {
+        StyleWriter writer = StyleWriter.inline();
+        Omakase.source(input).use(AutoRefine.everything()).use(Prefixer.customBrowserSupport(support).rearrange(true))
+            .use(writer).process();
+        return writer.write();
+    }
+
+    @Test
+    public void declarations() {
+        Map<Prefix, String> outputs = process(".a {transition: all 1s; color: red}");
+        assertThat(outputs.get(Prefix.WEBKIT)).isEqualTo(".a {-webkit-transition:all 1s; transition:all 1s; color:red}");
+        assertThat(outputs.get(Prefix.MOZ)).isEqualTo(".a {-moz-transition:all 1s; transition:all 1s; color:red}");
+    }
+
+    @Test
+    public void matchesSeparateRunPerFamily() {
+        String input = ".a {transition: transform 1s; border-radius: 2px}\n" +
+            "@keyframes spin {from {transform: rotate(0deg)} to {transform: rotate(360deg)}}\n" +
+            ".b {display: flex; width: calc(100% - 2px)}";
+
+        Map<Prefix, String> outputs = process(input);
+        SupportMatrix webkit = new SupportMatrix().browser(Browser.CHROME, 20).browser(Browser.SAFARI, 6);
+        SupportMatrix moz = new SupportMatrix().browser(Browser.FIREFOX, 15);
+
+        assertThat(outputs.get(Prefix.WEBKIT)).isEqualTo(process(input, webkit));
+        assertThat(outputs.get(Prefix.MOZ)).isEqualTo(process(input, moz));
+    }
+
+    @Test
+    public void atRules() {
+        Map<Prefix, String> outputs = process("@keyframes spin {from {top: 0} to {top: 10px}}");
+        assertThat(outputs.get(Prefix.WEBKIT)).contains("@-webkit-keyframes").doesNotContain("@-moz-keyframes");
+        assertThat(outputs.get(Prefix.MOZ)).contains("@-moz-keyframes").doesNotContain("@-webkit-keyframes");
+    }
+
+    @Test
+    public void selectors() {
+        Map<Prefix, String> outputs = process("::-moz-selection {color: red}\n::-webkit-scrollbar {width: 0}\n.a {color: red}");
+        assertThat(outputs.get(Prefix.WEBKIT)).isEqualTo("::-webkit-scrollbar {width:0}\n.a {color:red}");
+        assertThat(outputs.get(Prefix.MOZ)).isEqualTo("::-moz-selection {color:red}\n.a {color:red}");
+    }
+
+    @Test
+    public void skipsRulesWithOnlyOtherPrefixedDeclarations() {
+        Map<Prefix, String> outputs = process(".a {-moz-appearance: none}\n.b {color: red}");
+        assertThat(outputs.get(Prefix.WEBKIT)).isEqualTo(".b {color:red}");
+        assertThat(outputs.get(Prefix.MOZ)).isEqualTo(".a {-moz-appearance:none}\n.b {color:red}");
+    }
+
+    @Test
+    public void prefixedValues() {
+        Map<Prefix, String> outputs = process(".a {width: -webkit-calc(100% - 2px); width: -moz-calc(100% - 2px)}");
+        assertThat(outputs.get(Prefix.WEBKIT)).isEqualTo(".a {width:-webkit-calc(100% - 2px)}");
+        assertThat(outputs.get(Prefix.MOZ)).isEqualTo(".a {width:-moz-calc(100% - 2px)}");
+    }
+
+    @Test
+    public void writeTo() throws Exception {
+        PrefixVariants variants = new PrefixVariants()
+            .add(Prefix.MOZ, StyleWriter.compressed())
+            .add(Prefix.WEBKIT, StyleWriter.compressed());
+        Omakase.source(".a {transition: all 1s}").use(AutoRefine.everything())
+            .use(Prefixer.customBrowserSupport(SUPPORT)).use(variants).process();
+
+        Map<Prefix, StringBuilder> appendables = new EnumMap<>(Prefix.class);
+        appendables.put(Prefix.WEBKIT, new StringBuilder());
+        appendables.put(Prefix.MOZ, new StringBuilder());
+        variants.writeTo(appendables);
+
+        assertThat(appendables.get(Prefix.WEBKIT).toString()).isEqualTo(".a{-webkit-transition:all 1s;transition:all 1s}");
+        assertThat(appendables.get(Prefix.MOZ).toString()).isEqualTo(".a{-moz-transition:all 1s;transition:all 1s}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatePrefix() {
+        new PrefixVariants().add(Prefix.WEBKIT, StyleWriter.inline()).add(Prefix.WEBKIT, StyleWriter.inline());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sameWriterForTwoPrefixes() {
+        StyleWriter writer = StyleWriter.inline();
+        new PrefixVariants().add(Prefix.WEBKIT, writer).add(Prefix.MOZ, writer);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.plugin.prefixer;
+
+import com.google.common.collect.Multimap;
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.ast.declaration.PropertyName;
+import com.salesforce.omakase.broadcast.annotation.Rework;
+import com.salesforce.omakase.data.Browser;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.Plugin;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.util.SupportMatrix;
+import com.salesforce.omakase.writer.StyleWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PrefixedIndex}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class PrefixedIndexTest {
+    private PrefixedIndex index;
+    private Rule rule;
+
+    @Before
+    public void setup() {
+        index = new PrefixedIndex();
+        rule = new Rule();
+    }
+
+    private Declaration add(String name) {
+        Declaration declaration = new Declaration(PropertyName.of(name), KeywordValue.of("x"));
+        rule.declarations().append(declaration);
+        return declaration;
+    }
+
+    @Test
+    public void noneWhenNoPrefixedSiblings() {
+        add("color");
+        Declaration subject = add("border-radius");
+        add("-webkit-box-sizing");
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+    }
+
+    @Test
+    public void noneWhenDetached() {
+        Declaration subject = new Declaration(PropertyName.of("border-radius"), KeywordValue.of("x"));
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+    }
+
+    @Test
+    public void singleMatch() {
+        Declaration webkit = add("-webkit-border-radius");
+        add("color");
+        Declaration subject = add("border-radius");
+
+        Multimap<Prefix, Declaration> found = index.equivalents(subject, "border-radius");
+        assertThat(found.size()).isEqualTo(1);
+        assertThat(found.get(Prefix.WEBKIT)).containsExactly(webkit);
+    }
+
+    @Test
+    public void sameOrderAsWalkingSiblings() {
+        Declaration moz1 = add("-moz-border-radius");
+        Declaration webkit = add("-webkit-border-radius");
+        add("color");
+        Declaration subject = add("border-radius");
+        add("margin");
+        Declaration moz2 = add("-moz-border-radius");
+        Declaration ms = add("-ms-border-radius");
+
+        Multimap<Prefix, Declaration> found = index.equivalents(subject, "border-radius");
+        assertThat(found.values()).containsExactly(webkit, moz1, moz2, ms);
+    }
+
+    @Test
+    public void multipleNames() {
+        Declaration box = add("-webkit-box-flex");
+        Declaration ms = add("-ms-flex");
+        add("-webkit-flex-grow");
+        Declaration subject = add("flex");
+
+        Multimap<Prefix, Declaration> found = index.equivalents(subject, "flex", "box-flex");
+        assertThat(found.values()).containsExactly(ms, box);
+    }
+
+    @Test
+    public void tracksPrepended() {
+        add("color");
+        Declaration subject = add("border-radius");
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+
+        Declaration previous = subject.previous().get();
+        Declaration copy = new Declaration(PropertyName.of("-moz-border-radius"), KeywordValue.of("x"));
+        subject.prepend(copy);
+        index.prepended(subject, previous);
+
+        assertThat(index.equivalents(subject, "border-radius").values()).containsExactly(copy);
+    }
+
+    @Test
+    public void tracksDestroyed() {
+        Declaration webkit = add("-webkit-border-radius");
+        Declaration subject = add("border-radius");
+        assertThat(index.equivalents(subject, "border-radius").values()).containsExactly(webkit);
+
+        webkit.destroy();
+        index.destroyed(subject, 1);
+
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+    }
+
+    @Test
+    public void rebuildsAfterOutsideChanges() {
+        Declaration subject = add("border-radius");
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+
+        Declaration webkit = add("-webkit-border-radius");
+        assertThat(index.equivalents(subject, "border-radius").values()).containsExactly(webkit);
+    }
+
+    @Test
+    public void rebuildsAfterOutsideReplace() {
+        Declaration subject = add("border-radius");
+        Declaration color = add("color");
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+
+        Declaration webkit = new Declaration(PropertyName.of("-webkit-border-radius"), KeywordValue.of("x"));
+        color.replaceWith(webkit);
+        assertThat(index.equivalents(subject, "border-radius").values()).containsExactly(webkit);
+    }
+
+    @Test
+    public void prefixedDeclarationFromAnotherPluginIsNotDuplicated() {
+        SupportMatrix support = new SupportMatrix().all(Browser.CHROME).all(Browser.SAFARI).all(Browser.FIREFOX);
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".a{user-select:none;color:red;box-sizing:border-box}")
+            .use(AutoRefine.everything())
+            .use(Prefixer.customBrowserSupport(support))
+            .use(new ReplaceColor())
+            .use(writer)
+            .process();
+        assertThat(writer.write()).isEqualTo(".a{-webkit-user-select:none;-moz-user-select:none;user-select:none;" +
+            "-webkit-box-sizing:border-box;-moz-box-sizing:border-box;box-sizing:border-box}");
+    }
+
+    @Test
+    public void rebuildsForAnotherRule() {
+        Declaration subject = add("border-radius");
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+
+        rule = new Rule();
+        Declaration webkit = add("-webkit-border-radius");
+        Declaration other = add("border-radius");
+        assertThat(index.equivalents(other, "border-radius").values()).containsExactly(webkit);
+        assertThat(index.equivalents(subject, "border-radius").isEmpty()).isTrue();
+    }
+
+    /** a plugin that replaces a declaration with a prefixed one, without changing the number of declarations */
+    public static final class ReplaceColor implements Plugin {
+        @Rework
+        public void declaration(Declaration declaration) {
+            if (declaration.isProperty(Property.COLOR)) {
+                declaration.replaceWith(new Declaration(PropertyName.of("-webkit-box-sizing"), KeywordValue.of("border-box")));
+            }
+        }
+    }
+}
@@ -181,4 +181,12 @@ public class PrefixerUnitPropertyTest {
         Prefixer prefixer = setup().prune(true);
         assertThat(process(original, prefixer)).isEqualTo(expected);
     }
+
+    // unknown and non-prefixable properties (noop)
+    @Test
+    public void prefixPropertySkipsUnknownProperties() {
+        String original = ".test {foo-bar:1px; color:red; border-radius:2px}";
+        String expected = ".test {foo-bar:1px; color:red; -moz-border-radius:2px; border-radius:2px}";
+        assertThat(process(original, setup(Prefix.MOZ))).isEqualTo(expected);
+    }
 }
@@ -85,11 +85,11 @@ public class GeneratePrefixTablesClass {
         writer.generator(GeneratePrefixTablesClass.class);
         writer.classToWrite(PrefixTables.class);
         writer.template("prefix-tables-class.ftl");
-        writer.data("properties", properties);
-        writer.data("keywords", keywords);
-        writer.data("atRules", atRules);
-        writer.data("selectors", selectors);
-        writer.data("functions", functions);
+        writer.data("properties", encode(properties));
+        writer.data("keywords", encode(keywords));
+        writer.data("atRules", encode(atRules));
+        writer.data("selectors", encode(selectors));
+        writer.data("functions", encode(functions));
 
         System.out.println();
         writer.write();
@@ -226,6 +226,21 @@ public class GeneratePrefixTablesClass {
         return allVersions;
     }
 
+    /** encodes the info as one "name BROWSER=version ...;" row per name, in order of first appearance (see PrefixTables) */
+    private static List<String> encode(List<? extends Info> info) {
+        Map<String, StringBuilder> rows = Maps.newLinkedHashMap();
+        for (Info i : info) {
+            StringBuilder row = rows.computeIfAbsent(i.getKey(), StringBuilder::new);
+            row.append(' ').append(i.getBrowser()).append('=').append(i.getVersion());
+        }
+
+        List<String> encoded = Lists.newArrayList();
+        for (StringBuilder row : rows.values()) {
+            encoded.add(row.append(';').toString());
+        }
+        return encoded;
+    }
+
     private Map<String, Object> loadUrl(String category) throws IOException {
         System.out.println();
         System.out.println(String.format("downloading prefix data for %s...", category));
@@ -246,7 +261,7 @@ public class GeneratePrefixTablesClass {
     }
 
     @SuppressWarnings("unused")
-    private static class Info {
+    private abstract static class Info {
         private final Browser browser;
         private final Double version;
 
@@ -262,6 +277,8 @@ public class GeneratePrefixTablesClass {
         public String getVersion() {
             return version.toString();
         }
+
+        public abstract String getKey();
     }
 
     public static final class PropertyInfo extends Info {
@@ -272,7 +289,8 @@ public class GeneratePrefixTablesClass {
             this.property = property;
         }
 
-        public String getProperty() {
+        @Override
+        public String getKey() {
             return property.name();
         }
     }
@@ -285,7 +303,8 @@ public class GeneratePrefixTablesClass {
             this.keyword = keyword;
         }
 
-        public String getKeyword() {
+        @Override
+        public String getKey() {
             return keyword.name();
         }
     }
@@ -298,7 +317,8 @@ public class GeneratePrefixTablesClass {
             this.name = name;
         }
 
-        public String getName() {
+        @Override
+        public String getKey() {
             return name;
         }
     }
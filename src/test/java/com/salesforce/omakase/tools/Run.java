@@ -26,6 +26,7 @@
 
 package com.salesforce.omakase.tools;
 
+import com.salesforce.omakase.tools.perf.RunConcurrentPerfTest;
 import com.salesforce.omakase.tools.perf.RunPerfTest;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -54,6 +55,9 @@ public class Run {
     @Option(name = "-p", aliases = "--perf", usage = "performance test", metaVar = "<args>")
     private boolean perf;
 
+    @Option(name = "-c", aliases = "--concurrent-perf", usage = "multi-threaded performance test")
+    private boolean concurrentPerf;
+
     @Option(name = "-u", aliases = "--update", usage = "regenerate data enum, data class and prefixes source files")
     private boolean update;
 
@@ -101,6 +105,8 @@ public class Run {
                 } else {
                     RunPerfTest.run(arguments);
                 }
+            } else if (concurrentPerf) {
+                RunConcurrentPerfTest.run(arguments);
             } else if (update) {
                 new GeneratePrefixEnum().run();
                 new GenerateKeywordEnum().run();
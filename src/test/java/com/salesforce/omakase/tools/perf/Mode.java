@@ -51,7 +51,12 @@ enum Mode {
     /**
      * The kitchen-sink of styles, with auto prefixer behavior turned on.
      */
-    PREFIX_HEAVY("heavy.css");
+    PREFIX_HEAVY("heavy.css"),
+
+    /**
+     * Many multi-part transition and animation values, with auto prefixer behavior turned on.
+     */
+    TRANSITION_HEAVY("transitions.css");
 
     private String source;
 
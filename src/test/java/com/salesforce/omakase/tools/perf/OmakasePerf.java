@@ -68,4 +68,16 @@ final class OmakasePerf extends PerfTest {
 
         Omakase.source(input).use(PluginSet.normal()).use(prefixer).use(pruner).process();
     }
+
+    @Override
+    public void parseTransitionHeavy(String input) {
+        Prefixer prefixer = Prefixer.customBrowserSupport();
+        prefixer.support().all(Browser.CHROME);
+        prefixer.support().all(Browser.FIREFOX);
+        prefixer.support().all(Browser.SAFARI);
+        prefixer.support().all(Browser.OPERA);
+        prefixer.rearrange(true);
+
+        Omakase.source(input).use(PluginSet.normal()).use(prefixer).process();
+    }
 }
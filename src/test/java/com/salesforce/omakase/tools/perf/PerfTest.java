@@ -42,6 +42,9 @@ abstract class PerfTest {
     /** @see {@link Mode#PREFIX_HEAVY} */
     public abstract void parsePrefixHeavy(String input);
 
+    /** @see {@link Mode#TRANSITION_HEAVY} */
+    public abstract void parseTransitionHeavy(String input);
+
     public void parse(Mode mode) {
         parse(mode, mode.source());
     }
@@ -60,6 +63,9 @@ abstract class PerfTest {
         case PREFIX_HEAVY:
             parsePrefixHeavy(input);
             break;
+        case TRANSITION_HEAVY:
+            parseTransitionHeavy(input);
+            break;
         }
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.tools.perf;
+
+import com.salesforce.omakase.ast.selector.ClassSelector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how throughput scales when many threads create syntax units or parse at the same time. This is mainly useful for
+ * spotting shared state that threads contend on (such as id allocation in AbstractSyntax). Run it on a multi-core machine
+ * before and after a change to compare.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("ALL")
+public final class RunConcurrentPerfTest {
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int UNITS_PER_THREAD = 2_000_000;
+    private static final int PARSES_PER_THREAD = 200;
+
+    public static void run(List<String> args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("\nRunning concurrent tests (%d available processors)\n", cores);
+
+        // baseline: what every unit used to do, a shared atomic increment
+        AtomicInteger shared = new AtomicInteger();
+        System.out.println("\nShared AtomicInteger increments (baseline contention):");
+        measure(UNITS_PER_THREAD, () -> {
+            int sum = 0;
+            for (int i = 0; i < UNITS_PER_THREAD; i++) sum += shared.incrementAndGet();
+            return sum;
+        });
+
+        System.out.println("\nSyntax unit creation:");
+        measure(UNITS_PER_THREAD, () -> {
+            int sum = 0;
+            for (int i = 0; i < UNITS_PER_THREAD; i++) sum += new ClassSelector("test").id();
+            return sum;
+        });
+
+        OmakasePerf parser = new OmakasePerf();
+        System.out.println("\nParsing (normal mode):");
+        for (int i = 0; i < 100; i++) parser.parse(Mode.NORMAL);
+        measure(PARSES_PER_THREAD, () -> {
+            for (int i = 0; i < PARSES_PER_THREAD; i++) parser.parse(Mode.NORMAL);
+            return 0;
+        });
+
+        System.out.println("\ndone");
+    }
+
+    /** runs the task on each number of threads at once and prints the operations per second across all threads */
+    private static void measure(int opsPerThread, Callable<Integer> task) throws Exception {
+        task.call(); // warm up
+
+        for (int threads : THREADS) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> future : futures) future.get();
+            long elapsed = System.nanoTime() - begin;
+            executor.shutdown();
+
+            double seconds = elapsed / (double)TimeUnit.SECONDS.toNanos(1);
+            double opsPerSecond = (opsPerThread * (double)threads) / seconds;
+            System.out.println(String.format("%-12s %-14s %,.0f ops/s", threads + " threads",
+                TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms", opsPerSecond));
+        }
+    }
+}
@@ -77,6 +77,7 @@ public final class RunPerfTest {
         System.out.println("omakase -p omakase normal");
         System.out.println("omakase -p omakase heavy");
         System.out.println("omakase -p omakase prefix-heavy");
+        System.out.println("omakase -p omakase transition-heavy");
         System.out.println("omakase -p omakase prefix-heavy no-prime");
     }
 
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.util;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.data.Browser;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.Prefix;
+import com.salesforce.omakase.data.PrefixTablesUtil;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.prefixer.Prefixer;
+import com.salesforce.omakase.writer.StyleWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SupportMatrix}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class SupportMatrixTest {
+    @Rule public final ExpectedException exception = ExpectedException.none();
+
+    private static SupportMatrix allBrowsers() {
+        SupportMatrix support = new SupportMatrix();
+        for (Browser browser : Browser.values()) {
+            support.all(browser);
+        }
+        return support;
+    }
+
+    private static SupportMatrix someBrowsers() {
+        return new SupportMatrix().last(Browser.CHROME, 3).last(Browser.FIREFOX, 3).latest(Browser.SAFARI).browser(Browser.IE, 11);
+    }
+
+    @Test
+    public void notFrozenByDefault() {
+        assertThat(new SupportMatrix().isFrozen()).isFalse();
+    }
+
+    @Test
+    public void freeze() {
+        SupportMatrix support = someBrowsers().freeze();
+        assertThat(support.isFrozen()).isTrue();
+        assertThat(support.freeze()).isSameAs(support);
+    }
+
+    @Test
+    public void frozenMatchesUnfrozen() {
+        for (SupportMatrix unfrozen : new SupportMatrix[]{allBrowsers(), someBrowsers(), new SupportMatrix()}) {
+            SupportMatrix frozen = new SupportMatrix();
+            for (Browser browser : unfrozen.supportedBrowsers()) {
+                for (Double version : unfrozen.allSupportedVersions(browser)) {
+                    frozen.browser(browser, version);
+                }
+            }
+            frozen.freeze();
+
+            for (Property property : Property.values()) {
+                assertThat(frozen.prefixesForProperty(property)).isEqualTo(unfrozen.prefixesForProperty(property));
+            }
+            for (Keyword keyword : Keyword.values()) {
+                assertThat(frozen.prefixesForKeyword(keyword)).isEqualTo(unfrozen.prefixesForKeyword(keyword));
+            }
+            for (String name : PrefixTablesUtil.prefixableAtRules()) {
+                assertThat(frozen.prefixesForAtRule(name)).isEqualTo(unfrozen.prefixesForAtRule(name));
+            }
+            for (String name : PrefixTablesUtil.prefixableSelectors()) {
+                assertThat(frozen.prefixesForSelector(name)).isEqualTo(unfrozen.prefixesForSelector(name));
+            }
+            for (String name : PrefixTablesUtil.prefixableFunctions()) {
+                assertThat(frozen.prefixesForFunction(name)).isEqualTo(unfrozen.prefixesForFunction(name));
+            }
+        }
+    }
+
+    @Test
+    public void frozenUnknownNames() {
+        SupportMatrix support = allBrowsers().freeze();
+        assertThat(support.prefixesForAtRule("not-an-at-rule")).isEmpty();
+        assertThat(support.prefixesForSelector("not-a-selector")).isEmpty();
+        assertThat(support.prefixesForFunction("not-a-function")).isEmpty();
+    }
+
+    @Test
+    public void prefixSetsAreImmutable() {
+        exception.expect(UnsupportedOperationException.class);
+        allBrowsers().prefixesForProperty(Property.BORDER_RADIUS).add(Prefix.KHTML);
+    }
+
+    @Test
+    public void cannotDesignateSupportWhenFrozen() {
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("frozen");
+        someBrowsers().freeze().latest(Browser.CHROME);
+    }
+
+    @Test
+    public void sharedWithMultiplePrefixers() {
+        SupportMatrix support = new SupportMatrix().browser(Browser.FIREFOX, 3.6).freeze();
+        for (int i = 0; i < 2; i++) {
+            StyleWriter writer = StyleWriter.inline();
+            Omakase.source(".a{border-radius:2px}")
+                .use(AutoRefine.everything())
+                .use(Prefixer.customBrowserSupport(support))
+                .use(writer)
+                .process();
+            assertThat(writer.write()).isEqualTo(".a {-moz-border-radius:2px; border-radius:2px}");
+        }
+    }
+
+    @Test
+    public void requiredPrefixesMatchesPerItem() {
+        SupportMatrix[] matrices = {allBrowsers(), Prefixer.defaultBrowserSupport().support(),
+            new SupportMatrix().latest(Browser.FIREFOX).browser(Browser.IE, 10), new SupportMatrix()};
+
+        for (SupportMatrix support : matrices) {
+            Set<Prefix> expected = EnumSet.noneOf(Prefix.class);
+            for (Property property : PrefixTablesUtil.prefixableProperties()) {
+                expected.addAll(support.prefixesForProperty(property));
+            }
+            for (Keyword keyword : PrefixTablesUtil.prefixableKeywords()) {
+                expected.addAll(support.prefixesForKeyword(keyword));
+            }
+            for (String name : PrefixTablesUtil.prefixableAtRules()) {
+                expected.addAll(support.prefixesForAtRule(name));
+            }
+            for (String name : PrefixTablesUtil.prefixableSelectors()) {
+                expected.addAll(support.prefixesForSelector(name));
+            }
+            for (String name : PrefixTablesUtil.prefixableFunctions()) {
+                expected.addAll(support.prefixesForFunction(name));
+            }
+
+            assertThat(support.requiredPrefixes()).isEqualTo(expected);
+            assertThat(support.requiresPrefixes()).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @Test
+    public void prefixedPropertiesAndKeywords() {
+        SupportMatrix support = new SupportMatrix().browser(Browser.IE, 10);
+        for (Property property : PrefixTablesUtil.prefixableProperties()) {
+            boolean expected = !support.prefixesForProperty(property).isEmpty();
+            assertThat(support.prefixedProperties().contains(property)).isEqualTo(expected);
+        }
+        for (Keyword keyword : PrefixTablesUtil.prefixableKeywords()) {
+            boolean expected = !support.prefixesForKeyword(keyword).isEmpty();
+            assertThat(support.prefixedKeywords().contains(keyword)).isEqualTo(expected);
+        }
+        assertThat(support.prefixedProperties()).contains(Property.ORDER);
+        assertThat(support.prefixedKeywords()).contains(Keyword.FLEX);
+    }
+
+    @Test
+    public void modernBrowsersRequireNoPrefixes() {
+        SupportMatrix support = new SupportMatrix().latest(Browser.OPERA);
+        assertThat(support.requiresPrefixes()).isFalse();
+        assertThat(support.requiredPrefixes()).isEmpty();
+        assertThat(support.prefixedProperties()).isEmpty();
+        assertThat(support.prefixedKeywords()).isEmpty();
+    }
+
+    @Test
+    public void requiredPrefixesUpdatesWithSupport() {
+        SupportMatrix support = new SupportMatrix().latest(Browser.OPERA);
+        assertThat(support.requiredPrefixes()).isEmpty();
+
+        support.browser(Browser.FIREFOX, 3.6);
+        assertThat(support.requiredPrefixes()).containsOnly(Prefix.MOZ);
+    }
+
+    @Test
+    public void frozenBulkQueries() {
+        SupportMatrix unfrozen = Prefixer.defaultBrowserSupport().support();
+        SupportMatrix frozen = Prefixer.defaultBrowserSupport().support().freeze();
+
+        assertThat(frozen.requiredPrefixes()).isEqualTo(unfrozen.requiredPrefixes());
+        assertThat(frozen.prefixedProperties()).isEqualTo(unfrozen.prefixedProperties());
+        assertThat(frozen.prefixedKeywords()).isEqualTo(unfrozen.prefixedKeywords());
+        assertThat(frozen.requiresPrefixes()).isTrue();
+    }
+}
@@ -207,4 +207,50 @@ public class ValuesTest {
         assertThat(Iterables.get(join.members(), 5)).isInstanceOf(Operator.class);
         assertThat(Iterables.get(join.members(), 6)).isInstanceOf(NumericalValue.class);
     }
+
+    @Test
+    public void rewriteSubstitutesReturnedTerms() {
+        PropertyValue pv = PropertyValue.of(OperatorType.COMMA, KeywordValue.of("transform"), KeywordValue.of("opacity"));
+        PropertyValue rewritten = Values.rewrite(pv, term -> term instanceof KeywordValue &&
+            ((KeywordValue)term).keyword().equals("transform") ? KeywordValue.of("-webkit-transform") : null);
+
+        assertThat(rewritten).isNotSameAs(pv);
+        assertThat(rewritten.members()).hasSize(3);
+        assertThat(((KeywordValue)Iterables.get(rewritten.members(), 0)).keyword()).isEqualTo("-webkit-transform");
+        assertThat(Iterables.get(rewritten.members(), 1)).isInstanceOf(Operator.class);
+        assertThat(((KeywordValue)Iterables.get(rewritten.members(), 2)).keyword()).isEqualTo("opacity");
+    }
+
+    @Test
+    public void rewriteCopiesOtherMembers() {
+        KeywordValue keyword = KeywordValue.of("opacity");
+        PropertyValue pv = PropertyValue.of(keyword, NumericalValue.of(1, "s"));
+        PropertyValue rewritten = Values.rewrite(pv, term -> null);
+
+        assertThat(rewritten.members()).hasSize(2);
+        assertThat(Iterables.get(rewritten.members(), 0)).isNotSameAs(keyword);
+        assertThat(keyword.group()).isSameAs(pv.members());
+    }
+
+    @Test
+    public void rewriteDoesNotModifyOriginal() {
+        PropertyValue pv = PropertyValue.of(KeywordValue.of("transform"), NumericalValue.of(1, "s"));
+        Values.rewrite(pv, term -> term instanceof KeywordValue ? KeywordValue.of("-moz-transform") : null);
+
+        assertThat(pv.members()).hasSize(2);
+        assertThat(((KeywordValue)Iterables.get(pv.members(), 0)).keyword()).isEqualTo("transform");
+    }
+
+    @Test
+    public void rewriteKeepsImportantAndComments() {
+        KeywordValue keyword = KeywordValue.of("transform");
+        keyword.comment("term");
+        PropertyValue pv = PropertyValue.of(keyword).important(true);
+        pv.comment("value");
+
+        PropertyValue rewritten = Values.rewrite(pv, term -> KeywordValue.of("-ms-transform"));
+        assertThat(rewritten.isImportant()).isTrue();
+        assertThat(rewritten.comments()).hasSize(1);
+        assertThat(Iterables.get(rewritten.members(), 0).comments()).hasSize(1);
+    }
 }
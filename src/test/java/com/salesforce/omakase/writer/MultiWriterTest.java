@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.writer;
+
+import com.google.common.collect.ImmutableList;
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Stylesheet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MultiWriter}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class MultiWriterTest {
+    private static final String SOURCE = "/*! license */\n.a, .b{color:red; /* orphaned */}\n" +
+        "@media print{.c{margin:0}}\n/* @annotation */\n.d{display:none}\n/* end */";
+
+    @Test
+    public void writesEachMode() {
+        StyleWriter verbose = StyleWriter.verbose().writeAllComments(true);
+        StyleWriter inline = StyleWriter.inline().writeAnnotatedComments(true);
+        StyleWriter compressed = StyleWriter.compressed().writeBangComments(true);
+        MultiWriter writer = new MultiWriter().add(verbose).add(inline).add(compressed);
+        Omakase.source(SOURCE).use(writer).process();
+
+        List<String> outputs = writer.write();
+        assertThat(outputs).hasSize(3);
+        assertThat(outputs.get(0)).isEqualTo(verbose.write());
+        assertThat(outputs.get(1)).isEqualTo(inline.write());
+        assertThat(outputs.get(2)).isEqualTo(compressed.write());
+        assertThat(outputs.get(0)).contains("/* end */");
+        assertThat(outputs.get(2)).startsWith("/*! license */");
+    }
+
+    @Test
+    public void writeToAppendables() throws IOException {
+        StyleWriter verbose = StyleWriter.verbose();
+        StyleWriter compressed = StyleWriter.compressed();
+        MultiWriter writer = new MultiWriter().add(verbose).add(compressed);
+        Omakase.source(SOURCE).use(writer).process();
+
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        writer.writeTo(ImmutableList.of(first, second));
+        assertThat(first.toString()).isEqualTo(verbose.write());
+        assertThat(second.toString()).isEqualTo(compressed.write());
+    }
+
+    @Test
+    public void customStylesheetWriter() {
+        StyleWriter custom = StyleWriter.compressed().addCustomWriter(Stylesheet.class, (unit, writer, appendable) -> {
+            appendable.append("/* custom */");
+            return true;
+        });
+        StyleWriter verbose = StyleWriter.verbose();
+        MultiWriter writer = new MultiWriter().add(custom).add(verbose);
+        Omakase.source(SOURCE).use(writer).process();
+
+        List<String> outputs = writer.write();
+        assertThat(outputs.get(0)).isEqualTo("/* custom */");
+        assertThat(outputs.get(1)).isEqualTo(verbose.write());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void appendablesMustMatchWriters() throws IOException {
+        MultiWriter writer = new MultiWriter().add(StyleWriter.verbose()).add(StyleWriter.compressed());
+        Omakase.source(SOURCE).use(writer).process();
+        writer.writeTo(ImmutableList.of(new StringBuilder()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void mustBeRegistered() {
+        new MultiWriter().add(StyleWriter.verbose()).write();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotAddAfterProcessing() {
+        MultiWriter writer = new MultiWriter().add(StyleWriter.verbose());
+        Omakase.source(SOURCE).use(writer).process();
+        writer.add(StyleWriter.compressed());
+    }
+}
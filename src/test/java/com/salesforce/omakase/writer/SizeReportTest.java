@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.salesforce.omakase.writer;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.Rule;
+import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SizeReport}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class SizeReportTest {
+    @Test
+    public void countsUtf8Bytes() throws IOException {
+        SizeReport report = new SizeReport();
+        Appendable out = report.track(new StringBuilder());
+        out.append("aé€");
+        out.append('\ud83d').append('\ude00');
+        assertThat(report.total()).isEqualTo(1 + 2 + 3 + 4);
+    }
+
+    @Test
+    public void totalMatchesOutput() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.verbose().sizeReport(report);
+        Omakase.source(".a{content:\"é\"}\n.b .c{margin:0}").use(writer).process();
+        String output = writer.write();
+        assertThat(report.total()).isEqualTo(output.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void recordsStatements() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.compressed().sizeReport(report);
+        Omakase.source(".a{color:red}@media print{.b{margin:0}}").use(writer).process();
+        writer.write();
+
+        List<SizeReport.Entry> statements = report.statements();
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0).unit()).isInstanceOf(Rule.class);
+        assertThat(statements.get(0).bytes()).isEqualTo(".a{color:red}".length());
+        assertThat(statements.get(1).bytes()).isEqualTo("@media print{.b{margin:0}}".length());
+        assertThat(report.sum(statements)).isEqualTo(report.total());
+    }
+
+    @Test
+    public void recordsSelectors() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.compressed().sizeReport(report);
+        Omakase.source(".a,.bb{color:red}@media print{.c{margin:0}}").use(new AutoRefine()).use(writer).process();
+        writer.write();
+
+        List<SizeReport.Entry> selectors = report.selectors();
+        assertThat(selectors).hasSize(3);
+        assertThat(selectors.get(0).bytes()).isEqualTo(2);
+        assertThat(selectors.get(1).bytes()).isEqualTo(4); // includes the comma
+        assertThat(selectors.get(2).bytes()).isEqualTo(2);
+    }
+
+    @Test
+    public void recordsOutermostAddedUnits() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.compressed().sizeReport(report);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}").use(tree).use(writer).process();
+
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        Declaration added = new Declaration(Property.DISPLAY, KeywordValue.of(Keyword.NONE));
+        rule.declarations().append(added);
+        writer.write();
+
+        assertThat(report.added()).hasSize(1);
+        assertThat(report.added().get(0).unit()).isSameAs(added);
+        assertThat(report.added().get(0).bytes()).isEqualTo(";display:none".length());
+    }
+
+    @Test
+    public void resetOnEachWrite() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.compressed().sizeReport(report).cacheFragments(true).passthrough(true);
+        Omakase.source(".a{color:red}.b{color:red}").use(writer).process();
+        writer.write();
+        writer.write();
+        assertThat(report.statements()).hasSize(2);
+        assertThat(report.selectors()).hasSize(2);
+        assertThat(report.total()).isEqualTo(".a{color:red}.b{color:red}".length());
+    }
+
+    @Test
+    public void largest() {
+        SizeReport report = new SizeReport();
+        StyleWriter writer = StyleWriter.compressed().sizeReport(report);
+        Omakase.source(".a{color:red}.b{color:red;margin:0}.c{margin:0}").use(writer).process();
+        writer.write();
+
+        List<SizeReport.Entry> largest = report.largest(report.statements(), 2);
+        assertThat(largest).hasSize(2);
+        assertThat(largest.get(0).bytes()).isEqualTo(".b{color:red;margin:0}".length());
+        assertThat(largest.get(1).bytes()).isEqualTo(".a{color:red}".length());
+    }
+}
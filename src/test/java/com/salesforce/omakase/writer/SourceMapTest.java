@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import com.salesforce.omakase.Omakase;
+import com.salesforce.omakase.ast.selector.ClassSelector;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SourceMap}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class SourceMapTest {
+    private static final String BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+    @Test
+    public void encodesVlq() throws IOException {
+        SourceMap map = new SourceMap("in.css");
+        Appendable out = map.track(new StringBuilder());
+        map.map(1, 1);
+        out.append("x");
+        map.map(1, 17);
+        out.append("\n\n");
+        map.map(1, 16);
+        assertThat(map.mappings()).isEqualTo("AAAA,CAAgB;;AAAD");
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void ignoresDuplicateOutputPosition() throws IOException {
+        SourceMap map = new SourceMap("in.css");
+        map.track(new StringBuilder());
+        map.map(1, 1);
+        map.map(1, 5);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void tracksCharSequenceRanges() throws IOException {
+        SourceMap map = new SourceMap("in.css");
+        StringBuilder builder = new StringBuilder();
+        Appendable out = map.track(builder);
+        out.append("a\nbcd", 1, 4);
+        map.map(1, 1);
+        assertThat(builder.toString()).isEqualTo("\nbc");
+        assertThat(decode(map.mappings()).get(0)).containsOnly(1, 2, 0, 0);
+    }
+
+    @Test
+    public void compressedMappingsPointToSource() {
+        String input = ".a {\n  color: red;\n}\n\n.b,\n.c {\n  margin: 1px 2px;\n}";
+        SourceMap map = new SourceMap("in.css");
+        StyleWriter writer = StyleWriter.compressed().sourceMap(map);
+        Omakase.source(input).use(writer).process();
+        String css = writer.write();
+        assertThat(css).isEqualTo(".a{color:red}.b,.c{margin:1px 2px}");
+
+        List<int[]> mappings = decode(map.mappings());
+        assertThat(mappings).isNotEmpty();
+        assertThat(map.size()).isEqualTo(mappings.size());
+
+        assertThat(find(mappings, css.indexOf(".a"))).containsOnly(0, 0, 0, 0);
+        assertThat(find(mappings, css.indexOf("color"))).containsOnly(0, 3, 1, 2);
+        assertThat(find(mappings, css.indexOf(".b"))).containsOnly(0, 13, 4, 0);
+        assertThat(find(mappings, css.indexOf(".c"))).containsOnly(0, 16, 5, 0);
+        assertThat(find(mappings, css.indexOf("margin"))).containsOnly(0, 19, 6, 2);
+    }
+
+    @Test
+    public void verboseMappingsTrackLines() {
+        String input = ".a{color:red}.b{color:blue}";
+        SourceMap map = new SourceMap("in.css");
+        StyleWriter writer = StyleWriter.verbose().sourceMap(map);
+        Omakase.source(input).use(writer).process();
+        writer.write();
+
+        List<int[]> mappings = decode(map.mappings());
+        boolean found = false;
+        for (int[] mapping : mappings) {
+            if (mapping[0] > 0 && mapping[2] == 0 && mapping[3] == 13) found = true;
+        }
+        assertThat(found).isTrue();
+    }
+
+    @Test
+    public void resetOnEachWrite() {
+        SourceMap map = new SourceMap("in.css");
+        StyleWriter writer = StyleWriter.compressed().sourceMap(map);
+        Omakase.source(".a{color:red}").use(writer).process();
+        writer.write();
+        String first = map.mappings();
+        writer.write();
+        assertThat(map.mappings()).isEqualTo(first);
+    }
+
+    @Test
+    public void writeSingleDoesNotMap() {
+        SourceMap map = new SourceMap("in.css");
+        StyleWriter writer = StyleWriter.compressed().sourceMap(map);
+        writer.writeSingle(new ClassSelector(1, 1, "a"));
+        assertThat(map.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void unmappedWhenNotSet() {
+        StyleWriter writer = StyleWriter.compressed();
+        assertThat(writer.sourceMap().isPresent()).isFalse();
+    }
+
+    @Test
+    public void json() {
+        SourceMap map = new SourceMap("in \"x\".css").file("out.css").sourceContent(".a{\n\tcolor:red}");
+        StyleWriter writer = StyleWriter.compressed().sourceMap(map);
+        Omakase.source(".a{\n\tcolor:red}").use(writer).process();
+        writer.write();
+        assertThat(map.toJson()).isEqualTo("{\"version\":3,\"file\":\"out.css\",\"sources\":[\"in \\\"x\\\".css\"]," +
+            "\"sourcesContent\":[\".a{\\n\\tcolor:red}\"],\"names\":[],\"mappings\":\"" + map.mappings() + "\"}");
+    }
+
+    @Test
+    public void jsonWithoutOptionalProperties() {
+        SourceMap map = new SourceMap("in.css");
+        assertThat(map.toJson()).isEqualTo("{\"version\":3,\"sources\":[\"in.css\"],\"names\":[],\"mappings\":\"\"}");
+    }
+
+    @Test
+    public void comment() {
+        assertThat(SourceMap.comment("out.css.map")).isEqualTo("/*# sourceMappingURL=out.css.map */");
+    }
+
+    /** finds the mapping at the given column on the first generated line. */
+    private static int[] find(List<int[]> mappings, int column) {
+        for (int[] mapping : mappings) {
+            if (mapping[0] == 0 && mapping[1] == column) return mapping;
+        }
+        throw new AssertionError("no mapping at column " + column);
+    }
+
+    /** decodes into absolute {generated line, generated column, source line, source column} entries. */
+    private static List<int[]> decode(String mappings) {
+        List<int[]> decoded = new ArrayList<>();
+        int line = 0, column = 0, sourceLine = 0, sourceColumn = 0;
+        int i = 0;
+        while (i < mappings.length()) {
+            char c = mappings.charAt(i);
+            if (c == ';') {
+                line++;
+                column = 0;
+                i++;
+            } else if (c == ',') {
+                i++;
+            } else {
+                int[] values = new int[4];
+                for (int v = 0; v < 4; v++) {
+                    int result = 0, shift = 0, digit;
+                    do {
+                        digit = BASE64.indexOf(mappings.charAt(i++));
+                        result += (digit & 31) << shift;
+                        shift += 5;
+                    } while ((digit & 32) != 0);
+                    values[v] = (result & 1) == 1 ? -(result >> 1) : result >> 1;
+                }
+                column += values[0];
+                sourceLine += values[2];
+                sourceColumn += values[3];
+                decoded.add(new int[]{line, column, sourceLine, sourceColumn});
+            }
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SourceMinifier}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class SourceMinifierTest {
+    private static String minify(String source) throws IOException {
+        StyleAppendable appendable = new StyleAppendable();
+        SourceMinifier.write(source, 0, source.length(), appendable);
+        return appendable.toString();
+    }
+
+    @Test
+    public void removesWhitespaceAroundBraces() throws IOException {
+        assertThat(minify("  .a  {  color:red  }  ")).isEqualTo(".a{color:red}");
+    }
+
+    @Test
+    public void collapsesOtherWhitespace() throws IOException {
+        assertThat(minify(".a \n\t .b{margin:0 \n auto}")).isEqualTo(".a .b{margin:0 auto}");
+    }
+
+    @Test
+    public void keepsSpaceAroundCombinatorsAndOperators() throws IOException {
+        assertThat(minify(".a  >  .b{width:calc(1px  +  2px)}")).isEqualTo(".a > .b{width:calc(1px + 2px)}");
+    }
+
+    @Test
+    public void keepsSpaceBeforeColonInSelector() throws IOException {
+        assertThat(minify(".a :hover{color: red}")).isEqualTo(".a :hover{color:red}");
+        assertThat(minify("@media print{.a :hover{color: red}}")).isEqualTo("@media print{.a :hover{color:red}}");
+    }
+
+    @Test
+    public void removesSpaceBeforeDeclarationColon() throws IOException {
+        assertThat(minify(".a{margin : 0px}")).isEqualTo(".a{margin:0px}");
+        assertThat(minify(".a{content : '{' ; color : red}")).isEqualTo(".a{content:'{';color:red}");
+    }
+
+    @Test
+    public void removesWhitespaceAroundCommasAndParens() throws IOException {
+        assertThat(minify(".a , .b{color:rgba( 0 , 0 , 0 , 0.5 )}")).isEqualTo(".a,.b{color:rgba(0,0,0,0.5)}");
+    }
+
+    @Test
+    public void removesSemicolonBeforeBrace() throws IOException {
+        assertThat(minify(".a{color:red ; margin:0 ; ; }")).isEqualTo(".a{color:red;margin:0}");
+    }
+
+    @Test
+    public void keepsTrailingSemicolon() throws IOException {
+        assertThat(minify("@import url(a.css) ;")).isEqualTo("@import url(a.css);");
+    }
+
+    @Test
+    public void removesComments() throws IOException {
+        assertThat(minify("/*a*/.a/*b*/ .b{/*c*/color:/*d*/red/*e*/}")).isEqualTo(".a .b{color:red}");
+    }
+
+    @Test
+    public void commentWithoutWhitespaceRemovedWithoutSpace() throws IOException {
+        assertThat(minify(".a/**/.b{color:red}")).isEqualTo(".a.b{color:red}");
+    }
+
+    @Test
+    public void commentNextToWhitespaceBecomesSpace() throws IOException {
+        assertThat(minify(".a/**/ .b{color:red}")).isEqualTo(".a .b{color:red}");
+        assertThat(minify(".a /**/.b{color:red}")).isEqualTo(".a .b{color:red}");
+    }
+
+    @Test
+    public void commentBetweenIdentifiersKept() throws IOException {
+        assertThat(minify(".a{margin:1px/**/2px}")).isEqualTo(".a{margin:1px/**/2px}");
+    }
+
+    @Test
+    public void unterminatedComment() throws IOException {
+        assertThat(minify(".a{color:red}/* x")).isEqualTo(".a{color:red}");
+    }
+
+    @Test
+    public void stringsCopiedAsIs() throws IOException {
+        assertThat(minify(".a{content: \" /* x */ a  { b } \\\" ; \" }")).isEqualTo(".a{content:\" /* x */ a  { b } \\\" ; \"}");
+        assertThat(minify(".a{content: ' a  b ' }")).isEqualTo(".a{content:' a  b '}");
+    }
+
+    @Test
+    public void escapesCopiedAsIs() throws IOException {
+        assertThat(minify(".a\\{ .b{color:red}")).isEqualTo(".a\\{ .b{color:red}");
+        assertThat(minify(".a\\  .b{color:red}")).isEqualTo(".a\\  .b{color:red}");
+    }
+
+    @Test
+    public void unquotedUrlCopiedAsIs() throws IOException {
+        assertThat(minify(".a{background:url( http://a/*b*/c.png )}")).isEqualTo(".a{background:url( http://a/*b*/c.png )}");
+        assertThat(minify(".a{background:URL(a;b.png)}")).isEqualTo(".a{background:URL(a;b.png)}");
+    }
+
+    @Test
+    public void quotedUrl() throws IOException {
+        assertThat(minify(".a{background:url( 'a b.png' )}")).isEqualTo(".a{background:url('a b.png')}");
+    }
+
+    @Test
+    public void mediaQuery() throws IOException {
+        assertThat(minify("@media screen and (min-width: 100px) {\n  .a { color: red }\n}"))
+            .isEqualTo("@media screen and (min-width:100px){.a{color:red}}");
+    }
+
+    @Test
+    public void range() throws IOException {
+        StyleAppendable appendable = new StyleAppendable();
+        SourceMinifier.write("xx .a { color: red } yy", 2, 20, appendable);
+        assertThat(appendable.toString()).isEqualTo(".a{color:red}");
+    }
+}
@@ -53,6 +53,13 @@ public class StyleAppendableTest {
         assertThat(sa.toString()).isEqualTo("abc");
     }
 
+    @Test
+    public void appendSubsequence() throws IOException {
+        StyleAppendable sa = new StyleAppendable();
+        sa.append("abcde", 1, 4);
+        assertThat(sa.toString()).isEqualTo("bcd");
+    }
+
     @Test
     public void appendInt() throws IOException {
         StyleAppendable sa = new StyleAppendable();
@@ -26,18 +26,37 @@
 
 package com.salesforce.omakase.writer;
 
+import com.google.common.io.ByteStreams;
 import com.salesforce.omakase.Omakase;
 import com.salesforce.omakase.ast.AbstractSyntax;
+import com.salesforce.omakase.ast.Statement;
+import com.salesforce.omakase.ast.Rule;
 import com.salesforce.omakase.ast.Syntax;
+import com.salesforce.omakase.ast.atrule.AtRule;
+import com.salesforce.omakase.ast.atrule.GenericAtRuleBlock;
 import com.salesforce.omakase.ast.collection.AbstractGroupable;
 import com.salesforce.omakase.ast.collection.LinkedSyntaxCollection;
 import com.salesforce.omakase.ast.collection.SyntaxCollection;
 import com.salesforce.omakase.ast.declaration.Declaration;
+import com.salesforce.omakase.ast.declaration.KeywordValue;
 import com.salesforce.omakase.ast.selector.ClassSelector;
 import com.salesforce.omakase.ast.selector.Selector;
+import com.salesforce.omakase.data.Keyword;
+import com.salesforce.omakase.data.Property;
+import com.salesforce.omakase.plugin.conditionals.Conditionals;
+import com.salesforce.omakase.plugin.core.AutoRefine;
+import com.salesforce.omakase.plugin.core.SyntaxTree;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
@@ -133,6 +152,67 @@ public class StyleWriterTest {
         assertThat(builder.toString()).isEqualTo(".test{color:red}");
     }
 
+    @Test
+    public void writeBytes() {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".test:after{content:\"\u00e9\"}").use(writer).process();
+        assertThat(writer.writeBytes()).isEqualTo(writer.write().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeBytesToOutputStream() throws IOException {
+        StyleWriter writer = StyleWriter.verbose();
+        Omakase.source(".test{color:red} .\u00e9{margin:0}").use(writer).process();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeBytesTo(out);
+        assertThat(out.toByteArray()).isEqualTo(writer.write().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeGzipToOutputStream() throws IOException {
+        StyleWriter writer = StyleWriter.verbose();
+        Omakase.source(".a{color:red}\n.b{content:\"é\"}").use(writer).process();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeGzipTo(out);
+        assertThat(gunzip(out.toByteArray())).isEqualTo(writer.write());
+    }
+
+    @Test
+    public void writeGzipToUsesLevel() throws IOException {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            source.append(".a").append(i).append("{color:red;margin:0 auto}");
+        }
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(source).use(writer).process();
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        writer.writeGzipTo(stored, Deflater.NO_COMPRESSION);
+        ByteArrayOutputStream best = new ByteArrayOutputStream();
+        writer.writeGzipTo(best, Deflater.BEST_COMPRESSION);
+
+        assertThat(best.size()).isLessThan(stored.size());
+        assertThat(gunzip(stored.toByteArray())).isEqualTo(writer.write());
+        assertThat(gunzip(best.toByteArray())).isEqualTo(writer.write());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeGzipToInvalidLevel() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".a{color:red}").use(writer).process();
+        writer.writeGzipTo(new ByteArrayOutputStream(), 10);
+    }
+
+    @Test
+    public void writeBytesToChannel() throws IOException {
+        StyleWriter writer = StyleWriter.compressed();
+        Omakase.source(".test{color:red}").use(writer).process();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeBytesTo(Channels.newChannel(out));
+        assertThat(out.toByteArray()).isEqualTo(".test{color:red}".getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     public void writeUnitHasOverride() {
         StyleWriter writer = StyleWriter.compressed();
@@ -205,6 +285,280 @@ public class StyleWriterTest {
         assertThat(StyleWriter.inline().writeSingle(s)).isEqualTo(".test");
     }
 
+    @Test
+    public void cacheFragmentsDisabledByDefault() {
+        assertThat(new StyleWriter().shouldCacheFragments()).isFalse();
+    }
+
+    @Test
+    public void cachedFragmentReused() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}.b{margin:0}").use(tree).use(writer).process();
+
+        String first = writer.write();
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        assertThat(rule.fragment().isEmpty()).isFalse();
+        assertThat(writer.write()).isEqualTo(first);
+        assertThat(first).isEqualTo(".a{color:red}.b{margin:0}");
+    }
+
+    @Test
+    public void cachedFragmentPerMode() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        Omakase.source(".a{color:red}.b{margin:0}").use(writer).process();
+
+        assertThat(writer.write()).isEqualTo(".a{color:red}.b{margin:0}");
+        assertThat(writer.mode(WriterMode.VERBOSE).write()).isEqualTo(".a {\n  color: red;\n}\n\n.b {\n  margin: 0;\n}");
+        assertThat(writer.mode(WriterMode.INLINE).write()).isEqualTo(".a {color:red}\n.b {margin:0}");
+        assertThat(writer.mode(WriterMode.COMPRESSED).write()).isEqualTo(".a{color:red}.b{margin:0}");
+    }
+
+    @Test
+    public void cachedFragmentInvalidatedBySetter() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}.b{margin:0}").use(new AutoRefine()).use(tree).use(writer).process();
+        writer.write();
+
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        KeywordValue value = (KeywordValue)rule.declarations().first().get().propertyValue().members().first().get();
+        value.keyword("blue");
+        assertThat(rule.fragment().isEmpty()).isTrue();
+        assertThat(writer.write()).isEqualTo(".a{color:blue}.b{margin:0}");
+    }
+
+    @Test
+    public void cachedFragmentInvalidatedByCollectionChange() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}.b{margin:0}").use(new AutoRefine()).use(tree).use(writer).process();
+        writer.write();
+
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        rule.declarations().append(new Declaration(Property.DISPLAY, KeywordValue.of(Keyword.NONE)));
+        assertThat(writer.write()).isEqualTo(".a{color:red;display:none}.b{margin:0}");
+
+        rule.declarations().first().get().destroy();
+        assertThat(writer.write()).isEqualTo(".a{display:none}.b{margin:0}");
+
+        ((Rule)tree.stylesheet().statements().last().get()).selectors().first().get().parts().append(new ClassSelector("c"));
+        assertThat(writer.write()).isEqualTo(".a{display:none}.b.c{margin:0}");
+    }
+
+    @Test
+    public void cachedFragmentInvalidatedByComment() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true).writeAllComments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}").use(new AutoRefine()).use(tree).use(writer).process();
+        writer.write();
+
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        rule.declarations().first().get().comment("x");
+        assertThat(writer.write()).isEqualTo(".a{/*x*/color:red}");
+    }
+
+    @Test
+    public void cachedFragmentMovedStatement() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}@media print{.b{margin:0}}").use(new AutoRefine()).use(tree).use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a{color:red}@media print{.b{margin:0}}");
+
+        AtRule media = (AtRule)tree.stylesheet().statements().last().get();
+        Rule nested = (Rule)((GenericAtRuleBlock)media.block().get()).statements().first().get();
+        tree.stylesheet().statements().first().get().append(nested);
+        assertThat(writer.write()).isEqualTo(".a{color:red}.b{margin:0}");
+
+        nested.selectors().first().get().parts().append(new ClassSelector("c"));
+        assertThat(writer.write()).isEqualTo(".a{color:red}.b.c{margin:0}");
+    }
+
+    @Test
+    public void cachedFragmentNotUsedWithConditionals() {
+        Conditionals conditionals = new Conditionals("ie7");
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        Omakase.source(".a{color:red}@if(ie7){.b{margin:0}}").use(conditionals).use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a{color:red}.b{margin:0}");
+
+        conditionals.config().clearTrueConditions();
+        assertThat(writer.write()).isEqualTo(".a{color:red}");
+    }
+
+    @Test
+    public void cachedFragmentNotUsedWithCustomWriter() {
+        StyleWriter writer = StyleWriter.compressed().cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}").use(tree).use(writer).process();
+        writer.addCustomWriter(Selector.class, new CustomSelectorWriter1());
+        writer.write();
+        assertThat(((Rule)tree.stylesheet().statements().first().get()).fragment()).isNull();
+    }
+
+    @Test
+    public void passthroughDisabledByDefault() {
+        assertThat(new StyleWriter().shouldPassthrough()).isFalse();
+    }
+
+    @Test
+    public void passthroughUnchangedStatements() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true);
+        Omakase.source(".a  >  .b , .c { color: red ; /* x */ margin : 0  auto; }\n@media print { .d { display: none } }")
+            .use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a > .b,.c{color:red;margin:0 auto}@media print{.d{display:none}}");
+    }
+
+    @Test
+    public void sourceNotRecordedWithoutPassthrough() {
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a{color:red}@media print{.b{color:red}}").use(tree).use(StyleWriter.compressed()).process();
+        for (Statement statement : tree.stylesheet().statements()) {
+            assertThat(((AbstractSyntax)statement).fragment()).isNull();
+        }
+    }
+
+    @Test
+    public void passthroughInMultiWriter() {
+        MultiWriter multi = new MultiWriter().add(StyleWriter.compressed().passthrough(true)).add(StyleWriter.compressed());
+        Omakase.source(".a  >  .b{color:red}").use(multi).process();
+        assertThat(multi.write()).containsExactly(".a > .b{color:red}", ".a  >  .b{color:red}");
+    }
+
+    @Test
+    public void passthroughCommentWithoutWhitespace() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true);
+        Omakase.source(".a/**/.b{color:red}").use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a.b{color:red}");
+    }
+
+    @Test
+    public void passthroughSpaceBeforeDeclarationColon() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true);
+        Omakase.source(".a{margin : 0px}").use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a{margin:0px}");
+    }
+
+    @Test
+    public void passthroughNotUsedForRefinedStatements() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true);
+        Omakase.source(".a  >  .b{color:red}").use(new AutoRefine()).use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a>.b{color:red}");
+    }
+
+    @Test
+    public void passthroughNotUsedForChangedStatements() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a  >  .b{color:red}.c  .d{margin:0}").use(tree).use(writer).process();
+
+        Rule rule = (Rule)tree.stylesheet().statements().first().get();
+        assertThat(rule.fragment().hasSource()).isTrue();
+        rule.declarations().append(new Declaration(Property.DISPLAY, KeywordValue.of(Keyword.NONE)));
+        assertThat(rule.fragment().hasSource()).isFalse();
+        assertThat(writer.write()).isEqualTo(".a  >  .b{color:red;display:none}.c .d{margin:0}");
+    }
+
+    @Test
+    public void passthroughOnlyWhenCompressed() {
+        StyleWriter writer = StyleWriter.inline().passthrough(true);
+        Omakase.source(".a  .b{color:red}").use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a  .b {color:red}");
+    }
+
+    @Test
+    public void passthroughNotUsedWhenWritingComments() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true).writeAllComments(true);
+        Omakase.source("/*x*/.a  .b{color:red}").use(writer).process();
+        assertThat(writer.write()).isEqualTo("/*x*/.a  .b{color:red}");
+    }
+
+    @Test
+    public void passthroughWithCachedFragments() {
+        StyleWriter writer = StyleWriter.compressed().passthrough(true).cacheFragments(true);
+        SyntaxTree tree = new SyntaxTree();
+        Omakase.source(".a  .b{color:red}").use(tree).use(writer).process();
+        assertThat(writer.write()).isEqualTo(".a .b{color:red}");
+        assertThat(((AbstractSyntax)tree.stylesheet().statements().first().get()).fragment().isEmpty()).isFalse();
+        assertThat(writer.write()).isEqualTo(".a .b{color:red}");
+    }
+
+    @Test
+    public void parallelismDefaultsToOne() {
+        assertThat(new StyleWriter().parallelism()).isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelismMustBePositive() {
+        new StyleWriter().parallelism(0);
+    }
+
+    @Test
+    public void parallelOutputMatchesSequential() {
+        String source = rules(".a", 1000) + "@media print{.b{margin:0}}" + rules(".c", 500);
+        for (WriterMode mode : WriterMode.values()) {
+            StyleWriter writer = new StyleWriter(mode);
+            Omakase.source(source).use(writer).process();
+            String expected = writer.write();
+            assertThat(writer.parallelism(4).write()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void parallelOutputWithUnwrittenLeadingStatements() {
+        // none of the first chunks have any written statements, so the next chunk has the first statement written overall
+        StyleWriter writer = StyleWriter.verbose();
+        Omakase.source(rules(".empty", 600).replace("color:red", "") + rules(".a", 600)).use(writer).process();
+        String expected = writer.write();
+
+        String output = writer.parallelism(4).write();
+        assertThat(output).isEqualTo(expected);
+        assertThat(output).startsWith(".a0 {");
+    }
+
+    @Test
+    public void parallelOutputWithCustomWriter() {
+        StyleWriter writer = StyleWriter.compressed().addCustomWriter(Selector.class, new CustomSelectorWriter2());
+        Omakase.source(rules(".a", 1000)).use(writer).process();
+        String expected = writer.write();
+        assertThat(writer.parallelism(4).write()).isEqualTo(expected);
+    }
+
+    @Test
+    public void parallelWriteUsesAtMostParallelismThreads() {
+        ThreadRecordingWriter recorder = new ThreadRecordingWriter();
+        StyleWriter writer = StyleWriter.compressed().addCustomWriter(Selector.class, recorder);
+        Omakase.source(rules(".a", 2000)).use(writer).process();
+
+        writer.parallelism(2).write();
+        assertThat(recorder.threads.size()).isLessThanOrEqualTo(2);
+        assertThat(recorder.threads.contains(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    public void parallelOutputWithCachedFragments() {
+        StyleWriter writer = StyleWriter.inline();
+        Omakase.source(rules(".a", 1000)).use(writer).process();
+        String expected = writer.write();
+
+        writer.parallelism(4).cacheFragments(true);
+        assertThat(writer.write()).isEqualTo(expected);
+        assertThat(writer.write()).isEqualTo(expected);
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String rules(String prefix, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(prefix).append(i).append("{color:red}\n");
+        }
+        return builder.toString();
+    }
+
     private static final class Level1 extends AbstractSyntax {
         SyntaxCollection<Level1, Level2> children = new LinkedSyntaxCollection<>(this);
         int count;
@@ -262,6 +616,35 @@ public class StyleWriterTest {
         StyleWriter.verbose().writeInner(new Level1(), new StyleAppendable());
     }
 
+    @Test
+    public void depthBeyondInitialCapacity() {
+        StyleWriter writer = StyleWriter.verbose();
+        for (int i = 0; i < 100; i++) {
+            writer.incrementDepth();
+        }
+        assertThat(writer.isFirstAtCurrentDepth()).isTrue();
+        for (int i = 0; i < 100; i++) {
+            writer.decrementDepth();
+        }
+        assertThat(writer.countAtCurrentDepth()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void decrementDepthBelowZero() {
+        StyleWriter.verbose().decrementDepth();
+    }
+
+    @Test
+    public void countsPeersAfterNestedWrites() {
+        Rule rule = new Rule();
+        rule.selectors().append(new Selector(new ClassSelector("a")));
+        rule.selectors().append(new Selector(new ClassSelector("b")));
+        rule.declarations().append(new Declaration(Property.COLOR, KeywordValue.of(Keyword.RED)));
+        rule.declarations().append(new Declaration(Property.DISPLAY, KeywordValue.of(Keyword.NONE)));
+
+        assertThat(StyleWriter.compressed().writeSingle(rule)).isEqualTo(".a,.b{color:red;display:none}");
+    }
+
     public static final class CustomSelectorWriter1 implements CustomWriter<Selector> {
         boolean called;
 
@@ -282,6 +665,16 @@ public class StyleWriterTest {
         }
     }
 
+    private static final class ThreadRecordingWriter implements CustomWriter<Selector> {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean write(Selector unit, StyleWriter writer, StyleAppendable appendable) throws IOException {
+            threads.add(Thread.currentThread());
+            return false;
+        }
+    }
+
     public static final class CustomSelectorWriterDoesNothing implements CustomWriter<Selector> {
         @Override
         public boolean write(Selector unit, StyleWriter writer, StyleAppendable appendable) throws IOException {
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2015, salesforce.com, inc.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided
+ * that the following conditions are met:
+ *
+ *    Redistributions of source code must retain the above copyright notice, this list of conditions and the
+ *    following disclaimer.
+ *
+ *    Redistributions in binary form must reproduce the above copyright notice, this list of conditions and
+ *    the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ *    Neither the name of salesforce.com, inc. nor the names of its contributors may be used to endorse or
+ *    promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A
+ * PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.salesforce.omakase.writer;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link Utf8Appendable}.
+ *
+ * @author nmcwilliams
+ */
+@SuppressWarnings("JavaDoc")
+public class Utf8AppendableTest {
+    private static final String MIXED = ".a:after{content:\"é中😀\"}";
+
+    @Test
+    public void appendAscii() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append(".test{color:red}");
+        assertThat(ua.toByteArray()).isEqualTo(".test{color:red}".getBytes(StandardCharsets.UTF_8));
+        assertThat(ua.toString()).isEqualTo(".test{color:red}");
+        assertThat(ua.size()).isEqualTo(16);
+    }
+
+    @Test
+    public void appendMultiByte() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append(MIXED);
+        assertThat(ua.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+        assertThat(ua.toString()).isEqualTo(MIXED);
+    }
+
+    @Test
+    public void appendCharByChar() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        for (int i = 0; i < MIXED.length(); i++) {
+            ua.append(MIXED.charAt(i));
+        }
+        assertThat(ua.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void appendSubSequence() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append("xxéyy", 1, 4);
+        assertThat(ua.toString()).isEqualTo("xéy");
+    }
+
+    @Test
+    public void unpairedSurrogates() throws IOException {
+        String s = "a\ud83db\ude00c\ud83d";
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append(s);
+        assertThat(ua.toByteArray()).isEqualTo(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void growsBuffer() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        Utf8Appendable ua = new Utf8Appendable(1);
+        for (int i = 0; i < 500; i++) {
+            ua.append(MIXED);
+            expected.append(MIXED);
+        }
+        assertThat(ua.toByteArray()).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void streamsToOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        Utf8Appendable ua = new Utf8Appendable(out);
+        for (int i = 0; i < 2000; i++) {
+            ua.append(MIXED).append('\n');
+            expected.append(MIXED).append('\n');
+        }
+
+        // more than the streaming buffer should already be written
+        assertThat(out.size()).isGreaterThan(0);
+
+        ua.flush();
+        byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        assertThat(out.toByteArray()).isEqualTo(bytes);
+        assertThat(ua.size()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    public void surrogatePairSplitAcrossStreamingBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        Utf8Appendable ua = new Utf8Appendable(out);
+        for (int i = 0; i < 10000; i++) {
+            ua.append('\ud83d');
+            ua.append('\ude00');
+            expected.append("😀");
+        }
+        ua.flush();
+        assertThat(out.toByteArray()).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toByteBuffer() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append("abc");
+        ByteBuffer buffer = ua.toByteBuffer();
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(buffer.remaining()).isEqualTo(3);
+        assertThat(buffer.get(0)).isEqualTo((byte)'a');
+    }
+
+    @Test
+    public void writeToOutputStream() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append(MIXED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ua.writeTo(out);
+        assertThat(out.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeToChannel() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        ua.append(MIXED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ua.writeTo(Channels.newChannel(out));
+        assertThat(out.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void worksWithStyleAppendable() throws IOException {
+        Utf8Appendable ua = new Utf8Appendable();
+        StyleAppendable sa = new StyleAppendable(ua);
+        sa.append("a").indent().newline().append(1).space().append('é');
+        assertThat(sa.toString()).isEqualTo("a\n  1 é");
+    }
+}
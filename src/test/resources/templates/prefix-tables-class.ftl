@@ -26,76 +26,34 @@
 
 package ${package};
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
-
 /**
  * Contains the last version of a browser that requires a prefix for various CSS properties.
  * <p>
  * The *CSS Prefix data* in this file is retrieved from caniuse.com and
  * licensed under CC-BY-4.0 (http://creativecommons.org/licenses/by/4.0).
  * <p>
+ * Each table is encoded as one row per prefixable name, consisting of the name followed by a {@code BROWSER=version} pair for
+ * each browser that requires a prefix, and terminated by a semicolon. The rows are decoded by {@link PrefixTablesUtil} on first
+ * use.
+ * <p>
  * THIS FILE IS GENERATED. DO NOT EDIT DIRECTLY.
  * <p>
  * See ${generator} for instructions on updating.
  */
-@SuppressWarnings("AutoBoxing")
 public final class PrefixTables {
-    static final Table<Property, Browser, Double> PROPERTIES;
-    static final Table<Keyword, Browser, Double> KEYWORDS;
-    static final Table<String, Browser, Double> AT_RULES;
-    static final Table<String, Browser, Double> SELECTORS;
-    static final Table<String, Browser, Double> FUNCTIONS;
-
-    static {
-        ImmutableTable.Builder<Property, Browser, Double> builder = ImmutableTable.builder();
-
-        <#list properties as p>
-        builder.put(Property.${p.property}, Browser.${p.browser}, ${p.version});
-        </#list>
-
-        PROPERTIES = builder.build();
-    }
-
-    static {
-        ImmutableTable.Builder<Keyword, Browser, Double> builder = ImmutableTable.builder();
-
-        <#list keywords as k>
-        builder.put(Keyword.${k.keyword}, Browser.${k.browser}, ${k.version});
-        </#list>
-
-        KEYWORDS = builder.build();
-    }
-
-    static {
-        ImmutableTable.Builder<String, Browser, Double> builder = ImmutableTable.builder();
-
-        <#list atRules as a>
-        builder.put("${a.name}", Browser.${a.browser}, ${a.version});
-        </#list>
-
-        AT_RULES = builder.build();
-    }
-
-    static {
-        ImmutableTable.Builder<String, Browser, Double> builder = ImmutableTable.builder();
-
-        <#list selectors as s>
-        builder.put("${s.name}", Browser.${s.browser}, ${s.version});
-        </#list>
+<#macro table name rows>
+    static final String ${name} =<#if rows?has_content><#list rows as r>
+        "${r}"<#if r_has_next> +<#else>;</#if></#list><#else> "";</#if>
+</#macro>
+<@table name="PROPERTIES" rows=properties/>
 
-        SELECTORS = builder.build();
-    }
+<@table name="KEYWORDS" rows=keywords/>
 
-    static {
-        ImmutableTable.Builder<String, Browser, Double> builder = ImmutableTable.builder();
+<@table name="AT_RULES" rows=atRules/>
 
-        <#list functions as f>
-        builder.put("${f.name}", Browser.${f.browser}, ${f.version});
-        </#list>
+<@table name="SELECTORS" rows=selectors/>
 
-        FUNCTIONS = builder.build();
-    }
+<@table name="FUNCTIONS" rows=functions/>
 
     private PrefixTables() {}
 }